@@ -2,8 +2,10 @@ package com.greglmx.wishly;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class WishlyApplication {
     public static void main(String[] args) {
         SpringApplication.run(WishlyApplication.class, args);
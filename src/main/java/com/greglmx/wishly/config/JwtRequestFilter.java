@@ -4,16 +4,22 @@ import jakarta.servlet.*;
 import jakarta.servlet.http.*;
 import com.greglmx.wishly.service.UserService;
 import com.greglmx.wishly.util.JwtUtil;
-import com.greglmx.wishly.model.User;
+import com.greglmx.wishly.security.TokenRevocations;
 import com.greglmx.wishly.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.function.SingletonSupplier;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
@@ -22,37 +28,87 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
     @Autowired
     private UserService userService;
+    @Autowired
+    private TokenRevocations tokenRevocations;
+
+    // build the principal from the verified claims instead of loading the user on every request
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
+
+    // routes that never read the principal: a bearer header there is ignored
+    private static final Set<String> ANONYMOUS_PATHS = Set.of("/register", "/login", "/test", "/hello");
+
+    private final SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
 
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return ANONYMOUS_PATHS.contains(request.getServletPath());
+    }
+
+    /**
+     * Install a deferred security context: the token is only parsed, and the user only
+     * looked up, the first time something reads the authentication (authorization
+     * rules, {@code @AuthenticationPrincipal}, services). Public reads that never ask
+     * for it skip the work even when a bearer header is present.
+     */
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
 
         final String header = request.getHeader("Authorization");
-        String username = null;
-        String token = null;
-
-        if (header != null && header.startsWith("Bearer ")) {
-            token = header.substring(7);
-            username = jwtUtil.extractUsername(token);
-        } else {
+        if (header == null || !header.startsWith("Bearer ")) {
             logger.debug("JWT Token does not begin with Bearer String");
+            chain.doFilter(request, response);
+            return;
         }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userService.loadUserByUsername(username);
-            if (jwtUtil.validateToken(token, userDetails)) {
-                User user = userService.getUserByEmail(username);
-                UserPrincipal principal = new UserPrincipal(user);
-                UsernamePasswordAuthenticationToken authToken =
-                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
-            } else {
-                logger.debug("Invalid JWT Token");
+        Supplier<SecurityContext> previous = securityContextHolderStrategy.getDeferredContext();
+        securityContextHolderStrategy.setDeferredContext(SingletonSupplier.of(() -> {
+            SecurityContext context = previous.get();
+            if (context.getAuthentication() != null) {
+                logger.debug("Context already has authentication");
+                return context;
             }
-        }  else {
-            logger.debug("Username is null or context already has authentication");
-        }
+            UserPrincipal principal = resolvePrincipal(header.substring(7));
+            if (principal == null) {
+                return context;
+            }
+            UsernamePasswordAuthenticationToken authToken =
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContext authenticated = securityContextHolderStrategy.createEmptyContext();
+            authenticated.setAuthentication(authToken);
+            return authenticated;
+        }));
         chain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private UserPrincipal resolvePrincipal(String token) {
+        // parse and verify once, every check below reuses the claims
+        Claims claims = jwtUtil.parseClaims(token);
+        String username = claims != null ? claims.getSubject() : null;
+        if (username == null) {
+            logger.debug("Invalid JWT Token");
+            return null;
+        }
+
+        Long userId = jwtUtil.extractUserId(claims);
+        if (userId != null && tokenRevocations.isRevoked(userId, jwtUtil.extractTokenVersion(claims),
+                jwtUtil.extractRole(claims))) {
+            logger.debug("JWT Token has been revoked");
+            return null;
+        }
+
+        if (stateless && userId != null) {
+            // signature and expiry are already verified by parseClaims
+            return new UserPrincipal(userId, username, jwtUtil.extractRole(claims));
+        }
+        // stateful mode and tokens without a uid claim resolve the user through the
+        // principal cache; the lookup by email already matches the token subject
+        UserPrincipal principal = userService.loadPrincipalByEmail(username);
+        if (principal == null) {
+            logger.debug("Invalid JWT Token");
+        }
+        return principal;
+    }
+}
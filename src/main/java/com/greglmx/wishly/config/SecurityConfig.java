@@ -1,6 +1,10 @@
 package com.greglmx.wishly.config;
 
+import com.greglmx.wishly.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
 import org.springframework.security.authentication.*;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -12,6 +16,9 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.*;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
 
 @Configuration
 @EnableWebSecurity
@@ -28,12 +35,21 @@ public class SecurityConfig {
             "/hello",
             "/wishlist/{id}",
             "/wishlist/{id}/gifts",
+            "/wishlist/{id}/gifts/page",
             "/wishlist/{id}/check-owner"
     };
 
+    /**
+     * BCrypt on a bounded pool (see {@link BoundedPasswordEncoder}). Raising the strength
+     * is safe: stored hashes with a lower cost are re-encoded at the next login.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+                                           @Value("${auth.password.bcrypt-strength:10}") int strength,
+                                           @Value("${auth.password.threads:0}") int threads,
+                                           @Value("${auth.password.queue-capacity:64}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), meterRegistry, poolSize, queueCapacity);
     }
 
     @Bean
@@ -44,7 +60,13 @@ public class SecurityConfig {
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(csrf -> csrf.disable())
+                // /logout is handled by AuthController (token revocation), not the session logout filter
+                .logout(logout -> logout.disable())
                 .authorizeHttpRequests(auth -> auth
+                        // the async dispatch ending an SSE stream was already authorized on the initial request
+                        .requestMatchers(new AndRequestMatcher(
+                                new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                                PathPatternRequestMatcher.withDefaults().matcher("/scrape-urls/stream"))).permitAll()
                         .requestMatchers(PUBLIC_URLS).permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
@@ -3,10 +3,12 @@ package com.greglmx.wishly.controller;
 import com.greglmx.wishly.dto.LoginRequest;
 import com.greglmx.wishly.dto.LoginResponse;
 import com.greglmx.wishly.model.User;
+import com.greglmx.wishly.security.UserPrincipal;
 import com.greglmx.wishly.service.AuthService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -25,6 +27,12 @@ public class AuthController {
         return ResponseEntity.ok(authService.login(request));
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logoutUser(@AuthenticationPrincipal UserPrincipal userPrincipal) {
+        authService.logout(userPrincipal.getId());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/hello")
     public String hello() {
         return "Hello, Secure World!";
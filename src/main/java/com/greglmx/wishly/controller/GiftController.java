@@ -1,7 +1,10 @@
 package com.greglmx.wishly.controller;
 
+import com.greglmx.wishly.dto.BulkGiftRequest;
+import com.greglmx.wishly.dto.BulkGiftResponse;
 import com.greglmx.wishly.dto.CreateGiftRequest;
 import com.greglmx.wishly.dto.UpdateGiftRequest;
+import com.greglmx.wishly.dto.GiftPageResponse;
 import com.greglmx.wishly.dto.GiftResponse;
 import com.greglmx.wishly.service.GiftService;
 import jakarta.validation.Valid;
@@ -24,12 +27,27 @@ public class GiftController {
         return ResponseEntity.ok(giftService.listByWishlist(wishlistId));
     }
 
+    @GetMapping("/wishlist/{wishlistId}/gifts/page")
+    public ResponseEntity<GiftPageResponse> listPage(@PathVariable Long wishlistId,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size,
+                                                     @RequestParam(required = false) String sort,
+                                                     @RequestParam(required = false) String direction) {
+        return ResponseEntity.ok(giftService.listPage(wishlistId, cursor, size, sort, direction));
+    }
+
     @PostMapping("/wishlist/{wishlistId}/gifts")
     public ResponseEntity<GiftResponse> create(@PathVariable Long wishlistId,
                                        @Valid @RequestBody CreateGiftRequest request) {
         return ResponseEntity.ok(giftService.create(wishlistId, request));
     }
 
+    @PostMapping("/wishlist/{wishlistId}/gifts/bulk")
+    public ResponseEntity<BulkGiftResponse> bulk(@PathVariable Long wishlistId,
+                                                 @Valid @RequestBody BulkGiftRequest request) {
+        return ResponseEntity.ok(giftService.bulk(wishlistId, request));
+    }
+
     @PutMapping("/gifts/{giftId}")
     public ResponseEntity<GiftResponse> update(@PathVariable Long giftId,
                                        @Valid @RequestBody UpdateGiftRequest request) {
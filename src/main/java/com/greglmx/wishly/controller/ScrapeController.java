@@ -1,14 +1,26 @@
 package com.greglmx.wishly.controller;
 
 import com.greglmx.wishly.dto.ScrapeUrlRequest;
+import com.greglmx.wishly.dto.ScrapeUrlsRequest;
 import com.greglmx.wishly.dto.ScrapeResponse;
+import com.greglmx.wishly.exception.ServiceUnavailableException;
+import com.greglmx.wishly.exception.TooManyRequestsException;
+import com.greglmx.wishly.service.ScrapeBatchService;
 import com.greglmx.wishly.service.ScraperService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @RestController
 @Slf4j
@@ -16,9 +28,18 @@ import org.springframework.web.bind.annotation.*;
 public class ScrapeController {
 
     private final ScraperService scraperService;
+    private final ScrapeBatchService scrapeBatchService;
+    private final Duration streamTimeout;
+    private final Duration streamHeartbeat;
 
-    public ScrapeController(ScraperService scraperService) {
+    public ScrapeController(ScraperService scraperService,
+                            ScrapeBatchService scrapeBatchService,
+                            @Value("${scraper.stream.timeout:PT5M}") Duration streamTimeout,
+                            @Value("${scraper.stream.heartbeat:PT5S}") Duration streamHeartbeat) {
         this.scraperService = scraperService;
+        this.scrapeBatchService = scrapeBatchService;
+        this.streamTimeout = streamTimeout;
+        this.streamHeartbeat = streamHeartbeat;
     }
 
     /**
@@ -43,10 +64,103 @@ public class ScrapeController {
             ScrapeResponse response = new ScrapeResponse(e.getMessage());
             return ResponseEntity.badRequest().body(response);
 
+        } catch (TooManyRequestsException e) {
+            log.warn("[ScrapeController] Throttled URL: {} {}", request.getUrl(), e.getMessage());
+            ScrapeResponse response = new ScrapeResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
+
+        } catch (ServiceUnavailableException e) {
+            log.warn("[ScrapeController] Host unavailable for URL: {} {}", request.getUrl(), e.getMessage());
+            ScrapeResponse response = new ScrapeResponse(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+
         } catch (RuntimeException e) {
             log.error("[ScrapeController] Error scraping URL: {} {}", request.getUrl(), e.getMessage());
             ScrapeResponse response = new ScrapeResponse(e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
+
+    /**
+     * Scrape several URLs concurrently
+     * POST /api/scrape-urls
+     * @param request Contains the URLs to scrape
+     * @return one ScrapeResponse per URL, in request order
+     */
+    @PostMapping("/scrape-urls")
+    public ResponseEntity<List<ScrapeResponse>> scrapeUrls(@Valid @RequestBody ScrapeUrlsRequest request) {
+        log.info("[ScrapeController] Starting batch scrape for {} URLs", request.getUrls().size());
+        List<ScrapeResponse> responses = scrapeBatchService.scrapeAll(request.getUrls());
+        long failed = responses.stream().filter(r -> !r.isSuccess()).count();
+        log.info("[ScrapeController] Batch scrape done: {} ok, {} failed", responses.size() - failed, failed);
+        return ResponseEntity.ok(responses);
+    }
+
+    /**
+     * Scrape several URLs concurrently and stream each result as soon as it is ready
+     * POST /api/scrape-urls/stream
+     * Emits one "result" Server-Sent Event per URL (data is a ScrapeResponse whose
+     * index is the URL's position in the request), then a final "done" event.
+     * A comment is sent every few seconds meanwhile, so that a client that went away
+     * is noticed and the scrapes still running are cancelled.
+     * @param request Contains the URLs to scrape
+     * @return SSE stream of ScrapeResponse
+     */
+    @PostMapping(value = "/scrape-urls/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamScrapeUrls(@Valid @RequestBody ScrapeUrlsRequest request) {
+        log.info("[ScrapeController] Starting streamed scrape for {} URLs", request.getUrls().size());
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+
+        Thread worker = Thread.ofVirtual().name("scrape-stream").unstarted(() -> {
+            scrapeBatchService.scrapeEach(request.getUrls(), response ->
+                    send(emitter, open, SseEmitter.event()
+                            .name("result")
+                            .id(String.valueOf(response.getIndex()))
+                            .data(response, MediaType.APPLICATION_JSON)));
+            send(emitter, open, SseEmitter.event().name("done").data(request.getUrls().size()));
+            if (open.get()) {
+                emitter.complete();
+            }
+        });
+        // a disconnected client only shows up when writing to it
+        Thread heartbeat = Thread.ofVirtual().name("scrape-stream-heartbeat").unstarted(() -> {
+            try {
+                while (open.get()) {
+                    Thread.sleep(streamHeartbeat);
+                    send(emitter, open, SseEmitter.event().comment("keep-alive"));
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+            worker.interrupt();
+        });
+        // once the stream is over (client gone, timeout, error), stop the scrapes still running
+        Runnable cancel = () -> {
+            open.set(false);
+            worker.interrupt();
+            heartbeat.interrupt();
+        };
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+        worker.start();
+        heartbeat.start();
+        return emitter;
+    }
+
+    private void send(SseEmitter emitter, AtomicBoolean open, SseEmitter.SseEventBuilder event) {
+        // results arrive from several threads; SseEmitter writes must not interleave
+        synchronized (emitter) {
+            if (!open.get()) {
+                return;
+            }
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                log.debug("[ScrapeController] Client left the scrape stream: {}", e.getMessage());
+                open.set(false);
+            }
+        }
+    }
 }
@@ -0,0 +1,22 @@
+package com.greglmx.wishly.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkGiftRequest {
+    @Valid
+    @Size(max = 1000, message = "at most 1000 gifts to create per request")
+    private List<@NotNull CreateGiftRequest> create;
+
+    @Valid
+    @Size(max = 1000, message = "at most 1000 gifts to update per request")
+    private List<@NotNull BulkGiftUpdate> update;
+
+    @Size(max = 1000, message = "at most 1000 gifts to delete per request")
+    private List<@NotNull Long> delete;
+}
@@ -0,0 +1,14 @@
+package com.greglmx.wishly.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BulkGiftResponse {
+    private List<GiftResponse> created;
+    private List<GiftResponse> updated;
+    private int deleted;
+}
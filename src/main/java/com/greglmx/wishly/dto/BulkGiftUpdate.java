@@ -0,0 +1,12 @@
+package com.greglmx.wishly.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class BulkGiftUpdate extends UpdateGiftRequest {
+    @NotNull
+    private Long id;
+}
@@ -0,0 +1,14 @@
+package com.greglmx.wishly.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class GiftPageResponse {
+    private List<GiftResponse> items;
+    // opaque token for the next page, null on the last page
+    private String nextCursor;
+}
@@ -1,17 +1,22 @@
 package com.greglmx.wishly.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.greglmx.wishly.model.Gift.Visibility;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.Instant;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class GiftResponse {
     private Long id;
     private String name;
     private String description;
     private Double price;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String currency;
     private List<String> images;
     private List<String> tags;
     private String url;
@@ -19,4 +24,21 @@ public class GiftResponse {
     private Long wishlistId;
     private Instant createdAt;
     private Instant updatedAt;
+
+    // used by the JPQL constructor projections of GiftRepository
+    public GiftResponse(Long id, String name, String description, Double price, List<String> images,
+                        List<String> tags, String url, Visibility visibility, Long wishlistId,
+                        Instant createdAt, Instant updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.images = images;
+        this.tags = tags;
+        this.url = url;
+        this.visibility = visibility;
+        this.wishlistId = wishlistId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
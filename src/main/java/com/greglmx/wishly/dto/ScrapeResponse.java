@@ -1,5 +1,6 @@
 package com.greglmx.wishly.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -10,15 +11,21 @@ public class ScrapeResponse {
     private GiftResponse data;
     private String error;
 
+    // position of the URL in a batch request, null for single scrapes
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer index;
+
     public ScrapeResponse(GiftResponse data) {
         this.success = true;
         this.data = data;
         this.error = null;
+        this.index = null;
     }
 
     public ScrapeResponse(String error) {
         this.success = false;
         this.data = null;
         this.error = error;
+        this.index = null;
     }
 }
@@ -0,0 +1,16 @@
+package com.greglmx.wishly.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ScrapeUrlsRequest {
+    @NotEmpty(message = "urls cannot be empty")
+    @Size(max = 100, message = "at most 100 urls per request")
+    private List<@NotBlank(message = "URL cannot be blank") @Pattern(regexp = "^(https?://).+", message = "url must be http(s)") String> urls;
+}
@@ -98,4 +98,24 @@ public class GlobalExceptionHandler {
         apiError.setPath(request.getRequestURI());
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(apiError);
     }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiError> handleTooManyRequests(TooManyRequestsException ex, HttpServletRequest request) {
+        ApiError apiError = new ApiError();
+        apiError.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        apiError.setError("Too Many Requests");
+        apiError.setMessage(ex.getMessage());
+        apiError.setPath(request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(apiError);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiError> handleServiceUnavailable(ServiceUnavailableException ex, HttpServletRequest request) {
+        ApiError apiError = new ApiError();
+        apiError.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        apiError.setError("Service Unavailable");
+        apiError.setMessage(ex.getMessage());
+        apiError.setPath(request.getRequestURI());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(apiError);
+    }
 }
@@ -16,9 +16,13 @@ public class Gift {
     private String name;
     private String description;
     private Double price;
-    @ElementCollection
+    // JSON arrays on the gift row: read and written with the gift, no join table
+    // (legacy gift_images / gift_tags rows are copied over by migration V1_1)
+    @Convert(converter = StringListConverter.class)
+    @Column(name = "images_json", columnDefinition = "TEXT")
     private List<String> images;
-    @ElementCollection
+    @Convert(converter = StringListConverter.class)
+    @Column(name = "tags_json", columnDefinition = "TEXT")
     private List<String> tags;
 
     @Column(length = 8048)
@@ -4,10 +4,13 @@ import jakarta.persistence.*;
 import lombok.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.greglmx.wishly.security.UserEntityListener;
 
 @Entity
+@EntityListeners(UserEntityListener.class)
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -15,13 +18,26 @@ public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+    @Column(unique = true)
     private String username;
     private String password;
+    @Column(unique = true)
     private String email;
+    // trimmed, lower-cased copy of email, maintained on write: case-insensitive lookups
+    // become exact matches on a unique index
+    @JsonIgnore
+    @Column(unique = true)
+    private String emailNormalized;
 
     @Enumerated(EnumType.STRING)
     private Role role;
 
+    // bumped to revoke every token issued so far; tokens carry the version they were issued with.
+    // Boxed because the JSON binding of /register passes null for ignored constructor properties
+    @JsonIgnore
+    @Column(nullable = false)
+    private Integer tokenVersion = 0;
+
     @Transient
     @JsonIgnore
     @lombok.ToString.Exclude
@@ -61,6 +77,19 @@ public class User {
         this.email = email;
     }
 
+    public static String normalizeEmail(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        this.emailNormalized = normalizeEmail(this.email);
+        if (this.tokenVersion == null) {
+            this.tokenVersion = 0;
+        }
+    }
+
     public boolean isPresent() {
         return this.id != null;
     }
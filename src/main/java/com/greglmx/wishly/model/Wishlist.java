@@ -4,10 +4,14 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.Instant;
 
 @Entity
 @Data
+// only changed columns are written, so saving a wishlist never overwrites countGifts
+// incremented concurrently by GiftService
+@DynamicUpdate
 public class Wishlist {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -1,10 +1,31 @@
 package com.greglmx.wishly.repository;
 
 import com.greglmx.wishly.model.Gift;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 
-public interface GiftRepository extends CrudRepository<Gift, Long> {
+public interface GiftRepository extends CrudRepository<Gift, Long>, GiftRepositoryCustom {
 	List<Gift> findByWishlistId(Long wishlistId);
+
+	// read model: wishlist header and gift rows in one round trip, projected without managed
+	// entities; no row at all means no such wishlist
+	@Query("select new com.greglmx.wishly.repository.WishlistGiftRow(w.visibility, w.ownerId, g.id, g.name,"
+			+ " g.description, g.price, g.images, g.tags, g.url, g.visibility, g.wishlistId, g.createdAt, g.updatedAt)"
+			+ " from Wishlist w left join Gift g on g.wishlistId = w.id where w.id = :wishlistId order by g.id")
+	List<WishlistGiftRow> findWishlistWithGifts(@Param("wishlistId") Long wishlistId);
+
 	boolean existsByWishlistIdAndNameIgnoreCase(Long wishlistId, String name);
+
+	// name collisions for a whole batch in one query; names are expected upper-cased, like
+	// the IgnoreCase derived queries, so that idx_gift_wishlist_name_upper applies
+	@Query("select upper(g.name) from Gift g where g.wishlistId = :wishlistId and upper(g.name) in :names")
+	List<String> findNamesIgnoreCase(@Param("wishlistId") Long wishlistId, @Param("names") Collection<String> names);
+
+	@Modifying
+	@Query("delete from Gift g where g.wishlistId = :wishlistId and g.id in :ids")
+	int deleteByWishlistIdAndIdIn(@Param("wishlistId") Long wishlistId, @Param("ids") Collection<Long> ids);
 }
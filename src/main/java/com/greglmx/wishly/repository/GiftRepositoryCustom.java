@@ -0,0 +1,57 @@
+package com.greglmx.wishly.repository;
+
+import com.greglmx.wishly.dto.GiftResponse;
+import com.greglmx.wishly.model.Gift;
+
+import java.util.List;
+
+public interface GiftRepositoryCustom {
+
+    /**
+     * Columns a wishlist's gifts can be paged by; id breaks ties so that the order is total.
+     * Only nullable columns need the nulls-last handling, which no index can serve.
+     */
+    enum SortKey {
+        ID("id", false),
+        CREATED_AT("createdAt", false),
+        PRICE("price", true);
+
+        private final String property;
+        private final boolean nullable;
+
+        SortKey(String property, boolean nullable) {
+            this.property = property;
+            this.nullable = nullable;
+        }
+
+        public String property() {
+            return property;
+        }
+
+        public boolean nullable() {
+            return nullable;
+        }
+    }
+
+    /**
+     * Position of the last gift of the previous page: its sort value (null for gifts
+     * without one, which come last) and its id.
+     */
+    record Keyset(Object value, long id) {
+    }
+
+    /**
+     * Keyset page of a wishlist's gifts: up to {@code limit} gifts strictly after
+     * {@code after} (or from the start when null) in the requested order, projected
+     * straight into responses.
+     */
+    List<GiftResponse> findPage(Long wishlistId, SortKey sortKey, boolean descending, Keyset after, int limit);
+
+    /**
+     * Insert new gifts with one JDBC batch, sent as multi-row inserts when the driver
+     * rewrites batches ({@code rewriteBatchedStatements=true}). Generated ids and
+     * creation timestamps are set on the given gifts, which are not attached to the
+     * persistence context.
+     */
+    void insertAll(List<Gift> gifts);
+}
@@ -0,0 +1,133 @@
+package com.greglmx.wishly.repository;
+
+import com.greglmx.wishly.dto.GiftResponse;
+import com.greglmx.wishly.model.Gift;
+import com.greglmx.wishly.model.StringListConverter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+class GiftRepositoryCustomImpl implements GiftRepositoryCustom {
+
+    private static final String INSERT_SQL = "insert into gift"
+            + " (name, description, price, images_json, tags_json, url, wishlist_id, visibility, created_at, updated_at)"
+            + " values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StringListConverter converter = new StringListConverter();
+
+    GiftRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<GiftResponse> findPage(Long wishlistId, SortKey sortKey, boolean descending, Keyset after, int limit) {
+        String cmp = descending ? "<" : ">";
+        String dir = descending ? "desc" : "asc";
+        StringBuilder jpql = new StringBuilder("select new com.greglmx.wishly.dto.GiftResponse(g.id, g.name,"
+                + " g.description, g.price, g.images, g.tags, g.url, g.visibility, g.wishlistId, g.createdAt, g.updatedAt)"
+                + " from Gift g where g.wishlistId = :wishlistId");
+
+        if (sortKey == SortKey.ID) {
+            // a range scan on the (wishlist_id, id) index
+            if (after != null) {
+                jpql.append(" and g.id ").append(cmp).append(" :afterId");
+            }
+            jpql.append(" order by g.id ").append(dir);
+        } else if (!sortKey.nullable()) {
+            // a range scan on the (wishlist_id, column, id) index, no filesort
+            String col = "g." + sortKey.property();
+            if (after != null) {
+                jpql.append(" and (").append(col).append(", g.id) ").append(cmp).append(" (:afterValue, :afterId)");
+            }
+            jpql.append(" order by ").append(col).append(' ').append(dir).append(", g.id ").append(dir);
+        } else {
+            // nullable column: gifts without a value come last in both directions
+            String col = "g." + sortKey.property();
+            if (after != null && after.value() != null) {
+                jpql.append(" and (").append(col).append(' ').append(cmp).append(" :afterValue")
+                        .append(" or (").append(col).append(" = :afterValue and g.id ").append(cmp).append(" :afterId)")
+                        .append(" or ").append(col).append(" is null)");
+            } else if (after != null) {
+                jpql.append(" and ").append(col).append(" is null and g.id ").append(cmp).append(" :afterId");
+            }
+            jpql.append(" order by case when ").append(col).append(" is null then 1 else 0 end, ")
+                    .append(col).append(' ').append(dir).append(", g.id ").append(dir);
+        }
+
+        TypedQuery<GiftResponse> query = entityManager.createQuery(jpql.toString(), GiftResponse.class)
+                .setParameter("wishlistId", wishlistId)
+                .setMaxResults(limit);
+        if (after != null) {
+            query.setParameter("afterId", after.id());
+            if (sortKey != SortKey.ID && after.value() != null) {
+                query.setParameter("afterValue", after.value());
+            }
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public void insertAll(List<Gift> gifts) {
+        if (gifts.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        // Hibernate stores Instant as a UTC datetime on MySQL, bind the same way
+        Calendar utc = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        Timestamp timestamp = Timestamp.from(now);
+
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Gift gift = gifts.get(i);
+                        ps.setString(1, gift.getName());
+                        ps.setString(2, gift.getDescription());
+                        ps.setObject(3, gift.getPrice(), Types.DOUBLE);
+                        ps.setString(4, converter.convertToDatabaseColumn(gift.getImages()));
+                        ps.setString(5, converter.convertToDatabaseColumn(gift.getTags()));
+                        ps.setString(6, gift.getUrl());
+                        ps.setLong(7, gift.getWishlistId());
+                        // the enum is mapped by ordinal
+                        ps.setObject(8, gift.getVisibility() != null ? gift.getVisibility().ordinal() : null, Types.TINYINT);
+                        ps.setTimestamp(9, timestamp, utc);
+                        ps.setTimestamp(10, timestamp, utc);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return gifts.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < gifts.size(); i++) {
+            Gift gift = gifts.get(i);
+            gift.setId(((Number) generated.get(i).values().iterator().next()).longValue());
+            gift.setCreatedAt(now);
+            gift.setUpdatedAt(now);
+        }
+    }
+}
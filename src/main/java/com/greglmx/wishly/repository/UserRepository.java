@@ -1,5 +1,9 @@
 package com.greglmx.wishly.repository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.greglmx.wishly.model.User;
 
@@ -10,5 +14,19 @@ public interface UserRepository extends CrudRepository<User, Integer> {
     User findById(long id);
     User findByUsername(String username);
     User findByEmail(String email);
-    User findByEmailIgnoreCase(String email);
+    // expects User.normalizeEmail(email): an exact match on the unique email_normalized index
+    User findByEmailNormalized(String emailNormalized);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.password = :password where u.id = :id")
+    int updatePassword(@Param("id") Long id, @Param("password") String password);
+
+    @Modifying
+    @Transactional
+    @Query("update User u set u.tokenVersion = u.tokenVersion + 1 where u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    @Query("select new com.greglmx.wishly.repository.UserTokenState(u.tokenVersion, u.role) from User u where u.id = :id")
+    UserTokenState findTokenState(@Param("id") Long id);
 }
\ No newline at end of file
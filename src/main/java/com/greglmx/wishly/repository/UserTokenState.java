@@ -0,0 +1,13 @@
+package com.greglmx.wishly.repository;
+
+import com.greglmx.wishly.model.User;
+
+/**
+ * What a token is checked against: the user's current token version and role.
+ */
+public record UserTokenState(int tokenVersion, User.Role role) {
+
+    public String roleName() {
+        return role != null ? role.name() : "USER";
+    }
+}
@@ -0,0 +1,25 @@
+package com.greglmx.wishly.repository;
+
+import com.greglmx.wishly.dto.GiftResponse;
+import com.greglmx.wishly.model.Gift;
+import com.greglmx.wishly.model.Wishlist;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One row of a wishlist left-joined with its gifts: the wishlist columns needed for
+ * the access check, and the gift columns (all null for a wishlist without gifts).
+ */
+public record WishlistGiftRow(Wishlist.Visibility wishlistVisibility, Long ownerId,
+                              Long id, String name, String description, Double price, List<String> images,
+                              List<String> tags, String url, Gift.Visibility visibility, Long wishlistId,
+                              Instant createdAt, Instant updatedAt) {
+
+    public GiftResponse toGiftResponse() {
+        if (id == null) {
+            return null;
+        }
+        return new GiftResponse(id, name, description, price, images, tags, url, visibility, wishlistId, createdAt, updatedAt);
+    }
+}
@@ -1,10 +1,26 @@
 package com.greglmx.wishly.repository;
 
 import com.greglmx.wishly.model.Wishlist;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
 import java.util.List;
 
 public interface WishlistRepository extends CrudRepository<Wishlist, Long> {
     public boolean existsByOwnerIdAndName(Long ownerId, String name);
     public List<Wishlist> findByOwnerId(Long ownerId);
+
+    // atomic in-database increment: concurrent gift adds and deletes cannot lose updates
+    @Modifying
+    @Query("update Wishlist w set w.countGifts = coalesce(w.countGifts, 0) + :delta, w.updatedAt = :now where w.id = :id")
+    public int adjustCountGifts(@Param("id") Long id, @Param("delta") int delta, @Param("now") Instant now);
+
+    // rewrite only the counters that drifted from the actual number of gifts
+    @Modifying
+    @Query(value = "update wishlist w set w.count_gifts = (select count(*) from gift g where g.wishlist_id = w.id)"
+            + " where coalesce(w.count_gifts, -1) <> (select count(*) from gift g where g.wishlist_id = w.id)",
+            nativeQuery = true)
+    public int reconcileCountGifts();
 }
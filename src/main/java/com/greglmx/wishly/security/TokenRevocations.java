@@ -0,0 +1,63 @@
+package com.greglmx.wishly.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.greglmx.wishly.repository.UserRepository;
+import com.greglmx.wishly.repository.UserTokenState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Token revocation backed by the user row: each token carries the user's token
+ * version (claim {@code ver}) and its role, and is rejected once the version has
+ * been bumped (logout), the role has changed or the user is gone. The current state
+ * is read by primary key and cached per user for {@code jwt.revocation.ttl}, so a
+ * revocation applies at once on the node that made it and within that delay on the
+ * others, and survives restarts.
+ */
+@Component
+@Slf4j
+public class TokenRevocations {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Optional<UserTokenState>> states;
+
+    public TokenRevocations(UserRepository userRepository,
+                            @Value("${jwt.revocation.max-users:100000}") long maxUsers,
+                            @Value("${jwt.revocation.ttl:PT30S}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.states = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Revoke every token issued to the user so far.
+     */
+    public void revokeAll(Long userId) {
+        userRepository.incrementTokenVersion(userId);
+        states.invalidate(userId);
+    }
+
+    public boolean isRevoked(Long userId, int tokenVersion, String role) {
+        Optional<UserTokenState> state = states.get(userId,
+                id -> Optional.ofNullable(userRepository.findTokenState(id)));
+        if (state.isEmpty()) {
+            return true;
+        }
+        return tokenVersion != state.get().tokenVersion() || !state.get().roleName().equals(role);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.userId() != null) {
+            states.invalidate(event.userId());
+        }
+    }
+}
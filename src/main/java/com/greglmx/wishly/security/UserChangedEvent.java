@@ -0,0 +1,9 @@
+package com.greglmx.wishly.security;
+
+/**
+ * Published when a user row is updated or deleted, so that anything holding a copy
+ * of its credentials or role can drop it. A cluster transport can relay these events
+ * to other nodes by republishing them there.
+ */
+public record UserChangedEvent(Long userId, String email) {
+}
@@ -14,12 +14,29 @@ public class UserPrincipal implements UserDetails {
     private final String username;
     private final String password;
     private final Collection<? extends GrantedAuthority> authorities;
+    private final int tokenVersion;
 
     public UserPrincipal(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities) {
+        this(id, username, password, authorities, 0);
+    }
+
+    /**
+     * Principal loaded for sign-in, with the user's current token version to put in the token.
+     */
+    public UserPrincipal(Long id, String username, String password, Collection<? extends GrantedAuthority> authorities,
+                         int tokenVersion) {
         this.id = id;
         this.username = username;
         this.password = password;
         this.authorities = authorities;
+        this.tokenVersion = tokenVersion;
+    }
+
+    /**
+     * Principal rebuilt from verified token claims; it carries no password.
+     */
+    public UserPrincipal(Long id, String username, String role) {
+        this(id, username, null, List.of(new SimpleGrantedAuthority("ROLE_" + role)));
     }
 
     public UserPrincipal(User user) {
@@ -28,10 +45,26 @@ public class UserPrincipal implements UserDetails {
         this.password = user.getPassword();
         String role = user.getRole() != null ? user.getRole().name() : "USER";
         this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role));
+        this.tokenVersion = user.getTokenVersion() != null ? user.getTokenVersion() : 0;
     }
 
     public Long getId() { return id; }
 
+    public int getTokenVersion() { return tokenVersion; }
+
+    /**
+     * Role name without the ROLE_ prefix, USER when the principal has no role authority.
+     */
+    public String getRole() {
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith("ROLE_")) {
+                return name.substring("ROLE_".length());
+            }
+        }
+        return "USER";
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() { return authorities; }
 
@@ -0,0 +1,90 @@
+package com.greglmx.wishly.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.greglmx.wishly.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-process cache of the principals used by the JWT filter, keyed by normalized
+ * email ({@link User#normalizeEmail(String)}), which is also the key the loader
+ * receives. Entries hold a {@link UserPrincipal} without the password hash, are
+ * bounded by {@code auth.principal-cache.max-size} and expire
+ * {@code auth.principal-cache.ttl} after loading. A {@link UserChangedEvent} evicts the user once its transaction
+ * commits, found through an id to key index since the event may only carry the id.
+ * Metrics are published under the {@code cache.*} meters with {@code cache=userPrincipal}.
+ */
+@Component
+@Slf4j
+public class UserPrincipalCache {
+
+    private final Cache<String, UserPrincipal> cache;
+    private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+
+    public UserPrincipalCache(MeterRegistry meterRegistry,
+                              @Value("${auth.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${auth.principal-cache.ttl:PT5M}") Duration ttl) {
+        CaffeineStatsCounter statsCounter = new CaffeineStatsCounter(meterRegistry, "userPrincipal");
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats(() -> statsCounter)
+                // runs while the entry is removed, so the index never drops a key loaded again meanwhile
+                .evictionListener((String key, UserPrincipal principal, RemovalCause cause) -> {
+                    if (principal != null) {
+                        keysById.remove(principal.getId(), key);
+                    }
+                })
+                .build();
+        statsCounter.registerSizeMetric(cache);
+    }
+
+    /**
+     * Return the cached principal for the email, or load it. A null result (unknown
+     * user) is not cached.
+     */
+    public UserPrincipal get(String email, Function<String, UserPrincipal> loader) {
+        return cache.get(key(email), key -> {
+            UserPrincipal principal = loader.apply(key);
+            if (principal != null) {
+                keysById.put(principal.getId(), key);
+            }
+            return principal;
+        });
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+        keysById.clear();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (event.email() != null) {
+            cache.invalidate(key(event.email()));
+        }
+        // the email itself may have changed, drop the entry still cached for the user
+        if (event.userId() != null) {
+            String key = keysById.remove(event.userId());
+            if (key != null) {
+                cache.invalidate(key);
+            }
+        }
+        log.info("[UserPrincipalCache] Evicted user {}", event.userId());
+    }
+
+    private static String key(String email) {
+        return User.normalizeEmail(email);
+    }
+}
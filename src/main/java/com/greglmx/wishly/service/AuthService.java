@@ -5,12 +5,17 @@ import com.greglmx.wishly.dto.LoginResponse;
 import com.greglmx.wishly.dto.UserInfo;
 import com.greglmx.wishly.model.User;
 import com.greglmx.wishly.repository.UserRepository;
+import com.greglmx.wishly.security.TokenRevocations;
+import com.greglmx.wishly.security.UserChangedEvent;
+import com.greglmx.wishly.security.UserPrincipal;
 import com.greglmx.wishly.util.JwtUtil;
 import com.greglmx.wishly.exception.AlreadyExistsException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -20,40 +25,62 @@ public class AuthService {
     @Autowired
     private AuthenticationManager authenticationManager;
     @Autowired
-    private UserService userService;
-    @Autowired
     private UserRepository userRepository;
     @Autowired
     private PasswordEncoder encoder;
     @Autowired
     private JwtUtil jwtUtil;
+    @Autowired
+    private TokenRevocations tokenRevocations;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
+    /**
+     * Create the user with a single insert: duplicates are rejected by the unique
+     * constraints on email and username rather than by pre-check queries.
+     */
     public LoginResponse register(User user) {
-        if (userRepository.findByUsername(user.getEmail()) != null ||
-        userRepository.findByEmail(user.getEmail()) != null) {
-            throw new AlreadyExistsException("Username or email already exists");
-        }
         user.setUsername(user.getEmail());
         user.setPassword(encoder.encode(user.getPassword()));
         user.setRole(User.Role.USER);
 
-            User response = userRepository.save(user);
-            UserDetails userDetails = userService.loadUserByUsername(response.getEmail());
-            String token = jwtUtil.generateToken(userDetails, response.getId());
-            UserInfo userInfo = new UserInfo(response.getId(), response.getEmail());
-            String message = "User %s registered successfully".formatted(response.getEmail());
-            return new LoginResponse(message, token, userInfo);
+        User response;
+        try {
+            response = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyExistsException("Username or email already exists");
+        }
+        UserPrincipal principal = new UserPrincipal(response.getId(), response.getEmail(), response.getRole().name());
+        String token = jwtUtil.generateToken(principal, response.getId(), response.getRole().name(),
+                response.getTokenVersion());
+        UserInfo userInfo = new UserInfo(response.getId(), response.getEmail());
+        String message = "User %s registered successfully".formatted(response.getEmail());
+        return new LoginResponse(message, token, userInfo);
+    }
+
+    /**
+     * Revoke every token issued to the user so far, including the one in use.
+     */
+    public void logout(Long userId) {
+        tokenRevocations.revokeAll(userId);
+        // the token version is bumped by a bulk update, which the entity listener never sees
+        eventPublisher.publishEvent(new UserChangedEvent(userId, null));
     }
 
+    /**
+     * Authenticate and mint a token from the principal loaded by the authentication
+     * itself, so the user row is read only once.
+     */
     public LoginResponse login(LoginRequest request) {
-        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
-        UserDetails userDetails = userService.loadUserByUsername(request.getEmail());
-        User user = userService.getUserByEmail(request.getEmail());
+        Authentication authentication = authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
+        UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
 
-        String token = jwtUtil.generateToken(userDetails, user != null ? user.getId() : null);
+        String token = jwtUtil.generateToken(principal, principal.getId(), principal.getRole(),
+                principal.getTokenVersion());
         String message = "User %s logged in successfully".formatted(request.getEmail());
 
-        UserInfo userInfo = new UserInfo(user.getId(), user.getEmail());
+        UserInfo userInfo = new UserInfo(principal.getId(), principal.getUsername());
         return new LoginResponse(message, token, userInfo);
     }
 }
@@ -0,0 +1,21 @@
+package com.greglmx.wishly.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * A fetched page whose body is streamed, already decoded (gzip/deflate/br)
+ * and capped to the fetcher's maximum size.
+ * @param status HTTP status code
+ * @param url final URL after redirects
+ * @param charset charset from the Content-Type header, or null to detect it from the document
+ * @param body decoded body stream
+ */
+public record FetchedPage(int status, String url, String charset, InputStream body) implements Closeable {
+
+    @Override
+    public void close() throws IOException {
+        body.close();
+    }
+}
@@ -0,0 +1,33 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.repository.WishlistRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Periodically realigns {@code Wishlist.countGifts} with the actual number of gift
+ * rows, repairing drift from failed transactions, manual SQL or legacy data.
+ * Runs every {@code gifts.count-reconcile.interval}.
+ */
+@Component
+@Slf4j
+public class GiftCountReconciler {
+
+    private final WishlistRepository wishlistRepository;
+
+    public GiftCountReconciler(WishlistRepository wishlistRepository) {
+        this.wishlistRepository = wishlistRepository;
+    }
+
+    @Scheduled(initialDelayString = "${gifts.count-reconcile.initial-delay:PT1M}",
+            fixedDelayString = "${gifts.count-reconcile.interval:PT15M}")
+    @Transactional
+    public void reconcile() {
+        int fixed = wishlistRepository.reconcileCountGifts();
+        if (fixed > 0) {
+            log.info("[GiftCountReconciler] Fixed gift count of {} wishlists", fixed);
+        }
+    }
+}
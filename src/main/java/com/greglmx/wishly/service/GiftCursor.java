@@ -0,0 +1,64 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.dto.GiftResponse;
+import com.greglmx.wishly.repository.GiftRepositoryCustom.Keyset;
+import com.greglmx.wishly.repository.GiftRepositoryCustom.SortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque page cursor for gift listings: the sort it was issued for and the keyset
+ * (sort value and id) of the last gift returned, URL-safe Base64 encoded.
+ */
+final class GiftCursor {
+
+    private GiftCursor() {
+    }
+
+    static String encode(SortKey sortKey, boolean descending, GiftResponse last) {
+        StringBuilder sb = new StringBuilder()
+                .append(sortKey.name()).append('|')
+                .append(descending ? "desc" : "asc").append('|')
+                .append(last.getId());
+        Object value = switch (sortKey) {
+            case ID -> null;
+            case CREATED_AT -> last.getCreatedAt();
+            case PRICE -> last.getPrice();
+        };
+        if (value != null) {
+            sb.append('|').append(value);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor, rejecting it when it was issued for another sort order.
+     */
+    static Keyset decode(String cursor, SortKey sortKey, boolean descending) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            if (parts.length < 3 || parts.length > 4
+                    || !parts[0].equals(sortKey.name())
+                    || !parts[1].equals(descending ? "desc" : "asc")) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            long id = Long.parseLong(parts[2]);
+            Object value = null;
+            if (parts.length == 4) {
+                value = switch (sortKey) {
+                    case ID -> throw new IllegalArgumentException("Invalid cursor");
+                    case CREATED_AT -> Instant.parse(parts[3]);
+                    case PRICE -> Double.valueOf(parts[3]);
+                };
+            }
+            if (value == null && sortKey != SortKey.ID && !sortKey.nullable()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new Keyset(value, id);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
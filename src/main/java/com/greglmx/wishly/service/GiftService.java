@@ -1,14 +1,22 @@
 package com.greglmx.wishly.service;
 
+import com.greglmx.wishly.dto.BulkGiftRequest;
+import com.greglmx.wishly.dto.BulkGiftResponse;
+import com.greglmx.wishly.dto.BulkGiftUpdate;
 import com.greglmx.wishly.dto.CreateGiftRequest;
 import com.greglmx.wishly.dto.UpdateGiftRequest;
+import com.greglmx.wishly.dto.GiftPageResponse;
 import com.greglmx.wishly.dto.GiftResponse;
 import com.greglmx.wishly.exception.NotFoundException;
 import com.greglmx.wishly.model.Gift;
 import com.greglmx.wishly.model.Wishlist;
 import com.greglmx.wishly.repository.GiftRepository;
+import com.greglmx.wishly.repository.GiftRepositoryCustom.Keyset;
+import com.greglmx.wishly.repository.GiftRepositoryCustom.SortKey;
+import com.greglmx.wishly.repository.WishlistGiftRow;
 import com.greglmx.wishly.repository.WishlistRepository;
 import com.greglmx.wishly.validator.GiftValidator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.BeanPropertyBindingResult;
@@ -17,41 +25,83 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import com.greglmx.wishly.security.UserPrincipal;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class GiftService {
     private final GiftRepository giftRepository;
     private final WishlistRepository wishlistRepository;
     private final GiftValidator giftValidator;
+    private final int defaultPageSize;
+    private final int maxPageSize;
 
     public GiftService(GiftRepository giftRepository,
                        WishlistRepository wishlistRepository,
-                       GiftValidator giftValidator) {
+                       GiftValidator giftValidator,
+                       @Value("${gifts.page.default-size:20}") int defaultPageSize,
+                       @Value("${gifts.page.max-size:100}") int maxPageSize) {
         this.giftRepository = giftRepository;
         this.wishlistRepository = wishlistRepository;
         this.giftValidator = giftValidator;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
     }
 
+    @Transactional(readOnly = true)
     public List<GiftResponse> listByWishlist(Long wishlistId) {
-        ensureWishlistExists(wishlistId);
-        // if wishlist is private, ensure owner
-        Wishlist wishlist = wishlistRepository.findById(wishlistId)
-                .orElseThrow(() -> new NotFoundException("Wishlist not found or access denied"));
-        if (wishlist.getVisibility() == Wishlist.Visibility.PRIVATE) {
-            Long ownerId = wishlist.getOwnerId();
-            Long currentUserId = getCurrentUserId();
-            if (ownerId == null || currentUserId == null || !ownerId.equals(currentUserId)) {
-                throw new NotFoundException("Wishlist not found or access denied");
+        // one query for the access check and the gifts, projected straight into responses
+        List<WishlistGiftRow> rows = giftRepository.findWishlistWithGifts(wishlistId);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Wishlist not found");
+        }
+        WishlistGiftRow header = rows.get(0);
+        ensureReadable(header.wishlistVisibility(), header.ownerId());
+
+        List<GiftResponse> gifts = new ArrayList<>(rows.size());
+        for (WishlistGiftRow row : rows) {
+            GiftResponse gift = row.toGiftResponse();
+            if (gift != null) {
+                gifts.add(gift);
             }
         }
+        return gifts;
+    }
 
-        List<GiftResponse> gifts = giftRepository.findByWishlistId(wishlistId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    /**
+     * One page of a wishlist's gifts using keyset pagination: each page continues
+     * strictly after the last gift of the previous one, so the database never skips
+     * over earlier rows. Same visibility rules as {@link #listByWishlist(Long)}.
+     *
+     * @param cursor    nextCursor of the previous page, null for the first page
+     * @param size      page size, capped at {@code gifts.page.max-size}
+     * @param sort      id (default), createdAt or price; gifts without a price come last
+     * @param direction asc (default) or desc
+     */
+    @Transactional(readOnly = true)
+    public GiftPageResponse listPage(Long wishlistId, String cursor, Integer size, String sort, String direction) {
+        SortKey sortKey = parseSortKey(sort);
+        boolean descending = parseDescending(direction);
+        int limit = Math.min(size != null && size > 0 ? size : defaultPageSize, maxPageSize);
+        Keyset after = cursor != null && !cursor.isBlank() ? GiftCursor.decode(cursor, sortKey, descending) : null;
 
-        return gifts;
+        ensureReadable(wishlistId);
+
+        // fetch one extra row to know whether another page follows
+        List<GiftResponse> items = giftRepository.findPage(wishlistId, sortKey, descending, after, limit + 1);
+        String nextCursor = null;
+        if (items.size() > limit) {
+            items = items.subList(0, limit);
+            nextCursor = GiftCursor.encode(sortKey, descending, items.get(limit - 1));
+        }
+        return new GiftPageResponse(items, nextCursor);
     }
 
     @Transactional
@@ -74,8 +124,7 @@ public class GiftService {
         gift.setWishlistId(wishlistId);
         gift = giftRepository.save(gift);
 
-        wishlist.setCountGifts(wishlist.getCountGifts() + 1);
-        wishlistRepository.save(wishlist);
+        wishlistRepository.adjustCountGifts(wishlistId, 1, Instant.now());
         
         return toResponse(gift);
     }
@@ -85,13 +134,7 @@ public class GiftService {
         validate(request);
         Gift gift = giftRepository.findById(giftId)
             .orElseThrow(() -> new NotFoundException("Gift not found"));
-        if (request.getName() != null) gift.setName(request.getName());
-        if (request.getDescription() != null) gift.setDescription(request.getDescription());
-        if (request.getPrice() != null) gift.setPrice(request.getPrice());
-        if (request.getImages() != null) gift.setImages(new java.util.ArrayList<>(request.getImages()));
-        if (request.getTags() != null) gift.setTags(new java.util.ArrayList<>(request.getTags()));
-        if (request.getUrl() != null) gift.setUrl(request.getUrl());
-        if (request.getVisibility() != null) gift.setVisibility(request.getVisibility());
+        apply(gift, request);
         gift = giftRepository.save(gift);
         return toResponse(gift);
     }
@@ -105,8 +148,147 @@ public class GiftService {
         ensureOwner(wishlist);
         giftRepository.delete(gift);
 
-        wishlist.setCountGifts(wishlist.getCountGifts() - 1);
-        wishlistRepository.save(wishlist);
+        wishlistRepository.adjustCountGifts(wishlist.getId(), -1, Instant.now());
+    }
+
+    /**
+     * Apply deletes, updates and creates to one wishlist in a single transaction: all
+     * items are validated up front, name collisions are checked with one query, new
+     * gifts go through one JDBC batch and the gift counter is adjusted once.
+     * Any invalid item rejects the whole request.
+     */
+    @Transactional
+    public BulkGiftResponse bulk(Long wishlistId, BulkGiftRequest request) {
+        List<CreateGiftRequest> creates = request.getCreate() != null ? request.getCreate() : List.of();
+        List<BulkGiftUpdate> updates = request.getUpdate() != null ? request.getUpdate() : List.of();
+        Set<Long> deleteIds = request.getDelete() != null ? new LinkedHashSet<>(request.getDelete()) : Set.of();
+        creates.forEach(this::validate);
+        updates.forEach(this::validate);
+
+        Wishlist wishlist = wishlistRepository.findById(wishlistId)
+                .orElseThrow(() -> new NotFoundException("Wishlist not found"));
+        ensureOwner(wishlist);
+
+        int deleted = 0;
+        if (!deleteIds.isEmpty()) {
+            deleted = giftRepository.deleteByWishlistIdAndIdIn(wishlistId, deleteIds);
+            if (deleted != deleteIds.size()) {
+                throw new NotFoundException("Gift not found");
+            }
+        }
+
+        List<GiftResponse> updated = new ArrayList<>(updates.size());
+        if (!updates.isEmpty()) {
+            Map<Long, Gift> gifts = new HashMap<>();
+            for (Gift gift : giftRepository.findAllById(updates.stream().map(BulkGiftUpdate::getId).toList())) {
+                gifts.put(gift.getId(), gift);
+            }
+            for (BulkGiftUpdate item : updates) {
+                if (deleteIds.contains(item.getId())) {
+                    throw new IllegalArgumentException("Gift " + item.getId() + " is both updated and deleted");
+                }
+                Gift gift = gifts.get(item.getId());
+                if (gift == null || !wishlistId.equals(gift.getWishlistId())) {
+                    throw new NotFoundException("Gift not found");
+                }
+                apply(gift, item);
+            }
+            // flushed as one JDBC batch (hibernate.jdbc.batch_size)
+            giftRepository.saveAll(gifts.values());
+            for (BulkGiftUpdate item : updates) {
+                updated.add(toResponse(gifts.get(item.getId())));
+            }
+        }
+
+        List<GiftResponse> created = new ArrayList<>(creates.size());
+        if (!creates.isEmpty()) {
+            Set<String> names = new HashSet<>();
+            for (CreateGiftRequest item : creates) {
+                if (!names.add(item.getName().toUpperCase(Locale.ROOT))) {
+                    throw new IllegalArgumentException("Duplicate gift name in request: " + item.getName());
+                }
+            }
+            // the query flushes pending updates first, so renamed gifts are seen with their new name
+            Set<String> taken = new HashSet<>(giftRepository.findNamesIgnoreCase(wishlistId, names));
+            for (CreateGiftRequest item : creates) {
+                if (taken.contains(item.getName().toUpperCase(Locale.ROOT))) {
+                    throw new IllegalArgumentException("Gift with same name already exists in wishlist: " + item.getName());
+                }
+            }
+
+            List<Gift> gifts = new ArrayList<>(creates.size());
+            for (CreateGiftRequest item : creates) {
+                Gift gift = new Gift();
+                gift.setName(item.getName());
+                gift.setDescription(item.getDescription());
+                gift.setPrice(item.getPrice());
+                gift.setImages(item.getImages() != null ? new ArrayList<>(item.getImages()) : null);
+                gift.setTags(item.getTags() != null ? new ArrayList<>(item.getTags()) : null);
+                gift.setUrl(item.getUrl());
+                gift.setVisibility(item.getVisibility());
+                gift.setWishlistId(wishlistId);
+                gifts.add(gift);
+            }
+            giftRepository.insertAll(gifts);
+            for (Gift gift : gifts) {
+                created.add(toResponse(gift));
+            }
+        }
+
+        int delta = created.size() - deleted;
+        if (delta != 0 || !updated.isEmpty()) {
+            wishlistRepository.adjustCountGifts(wishlistId, delta, Instant.now());
+        }
+        return new BulkGiftResponse(created, updated, deleted);
+    }
+
+    private void ensureReadable(Long wishlistId) {
+        Wishlist wishlist = wishlistRepository.findById(wishlistId)
+                .orElseThrow(() -> new NotFoundException("Wishlist not found"));
+        ensureReadable(wishlist.getVisibility(), wishlist.getOwnerId());
+    }
+
+    private void ensureReadable(Wishlist.Visibility visibility, Long ownerId) {
+        // if wishlist is private, ensure owner
+        if (visibility == Wishlist.Visibility.PRIVATE) {
+            Long currentUserId = getCurrentUserId();
+            if (ownerId == null || currentUserId == null || !ownerId.equals(currentUserId)) {
+                throw new NotFoundException("Wishlist not found or access denied");
+            }
+        }
+    }
+
+    private SortKey parseSortKey(String sort) {
+        if (sort == null || sort.isBlank() || sort.equalsIgnoreCase("id")) {
+            return SortKey.ID;
+        }
+        if (sort.equalsIgnoreCase("createdAt") || sort.equalsIgnoreCase("date")) {
+            return SortKey.CREATED_AT;
+        }
+        if (sort.equalsIgnoreCase("price")) {
+            return SortKey.PRICE;
+        }
+        throw new IllegalArgumentException("Unsupported sort: " + sort);
+    }
+
+    private boolean parseDescending(String direction) {
+        if (direction == null || direction.isBlank() || direction.equalsIgnoreCase("asc")) {
+            return false;
+        }
+        if (direction.equalsIgnoreCase("desc")) {
+            return true;
+        }
+        throw new IllegalArgumentException("Unsupported direction: " + direction);
+    }
+
+    private void apply(Gift gift, UpdateGiftRequest request) {
+        if (request.getName() != null) gift.setName(request.getName());
+        if (request.getDescription() != null) gift.setDescription(request.getDescription());
+        if (request.getPrice() != null) gift.setPrice(request.getPrice());
+        if (request.getImages() != null) gift.setImages(new java.util.ArrayList<>(request.getImages()));
+        if (request.getTags() != null) gift.setTags(new java.util.ArrayList<>(request.getTags()));
+        if (request.getUrl() != null) gift.setUrl(request.getUrl());
+        if (request.getVisibility() != null) gift.setVisibility(request.getVisibility());
     }
 
     private void validate(Object req) {
@@ -117,12 +299,6 @@ public class GiftService {
         }
     }
 
-    private void ensureWishlistExists(Long wishlistId) {
-        if (!wishlistRepository.existsById(wishlistId)) {
-            throw new NotFoundException("Wishlist not found");
-        }
-    }
-
     private void ensureOwner(Wishlist wishlist) {
         Long ownerId = wishlist.getOwnerId();
         Long currentUserId = getCurrentUserId();
@@ -150,6 +326,8 @@ public class GiftService {
         r.setUrl(gift.getUrl());
         r.setVisibility(gift.getVisibility());
         r.setWishlistId(gift.getWishlistId());
+        r.setCreatedAt(gift.getCreatedAt());
+        r.setUpdatedAt(gift.getUpdatedAt());
         return r;
     }
 }
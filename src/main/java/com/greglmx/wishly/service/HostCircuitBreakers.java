@@ -0,0 +1,110 @@
+package com.greglmx.wishly.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.greglmx.wishly.exception.ServiceUnavailableException;
+import com.greglmx.wishly.exception.TooManyRequestsException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * One circuit breaker per retailer host. A breaker opens when the failure rate or
+ * slow-call rate over the last {@code scraper.circuit.sliding-window-size} calls
+ * crosses its threshold, rejects calls while open, then lets a few probe calls
+ * through (half-open) and closes again once they succeed.
+ * Breaker state and call outcomes are published as {@code resilience4j.circuitbreaker.*}
+ * meters tagged with the host; state transitions are logged.
+ */
+@Component
+@Slf4j
+public class HostCircuitBreakers {
+
+    private final CircuitBreakerRegistry registry;
+    private final Cache<String, CircuitBreaker> breakers;
+
+    public HostCircuitBreakers(MeterRegistry meterRegistry,
+                               @Value("${scraper.circuit.failure-rate-threshold:50}") float failureRateThreshold,
+                               @Value("${scraper.circuit.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+                               @Value("${scraper.circuit.slow-call-duration:PT5S}") Duration slowCallDuration,
+                               @Value("${scraper.circuit.sliding-window-size:20}") int slidingWindowSize,
+                               @Value("${scraper.circuit.minimum-calls:5}") int minimumCalls,
+                               @Value("${scraper.circuit.open-duration:PT30S}") Duration openDuration,
+                               @Value("${scraper.circuit.half-open-calls:2}") int halfOpenCalls,
+                               @Value("${scraper.host.max-hosts:1000}") long maxHosts,
+                               @Value("${scraper.host.idle-expiry:PT10M}") Duration idleExpiry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(openDuration)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                // bad input and our own throttling say nothing about the retailer's health
+                .ignoreExceptions(IllegalArgumentException.class, TooManyRequestsException.class)
+                .build();
+        this.registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        this.breakers = Caffeine.newBuilder()
+                .maximumSize(maxHosts)
+                .expireAfterAccess(idleExpiry)
+                .removalListener((String host, CircuitBreaker breaker, RemovalCause cause) -> registry.remove(host))
+                .build();
+    }
+
+    /**
+     * Fail fast when the host's breaker is open, before the caller queues for a
+     * rate-limit permit it would not be allowed to use.
+     * @throws ServiceUnavailableException when the breaker is open
+     */
+    public void checkPermitted(String host) {
+        if (host == null) {
+            return;
+        }
+        CircuitBreaker breaker = breakers.get(host, this::newBreaker);
+        if (!breaker.tryAcquirePermission()) {
+            throw rejected(host);
+        }
+        breaker.releasePermission();
+    }
+
+    /**
+     * Run the call through the host's breaker, recording its outcome and duration.
+     * @throws ServiceUnavailableException when the breaker is open
+     */
+    public <T> T execute(String host, Callable<T> call) throws Exception {
+        if (host == null) {
+            return call.call();
+        }
+        CircuitBreaker breaker = breakers.get(host, this::newBreaker);
+        try {
+            return breaker.executeCallable(call);
+        } catch (CallNotPermittedException e) {
+            throw rejected(host);
+        }
+    }
+
+    private ServiceUnavailableException rejected(String host) {
+        return new ServiceUnavailableException("Scraping " + host + " is temporarily disabled after repeated failures, retry later");
+    }
+
+    private CircuitBreaker newBreaker(String host) {
+        CircuitBreaker breaker = registry.circuitBreaker(host);
+        breaker.getEventPublisher().onStateTransition(event ->
+                log.warn("[HostCircuitBreakers] {} {}", host, event.getStateTransition()));
+        return breaker;
+    }
+}
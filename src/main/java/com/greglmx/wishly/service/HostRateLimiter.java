@@ -0,0 +1,176 @@
+package com.greglmx.wishly.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.greglmx.wishly.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-host politeness for outbound scraping: a token bucket caps the request rate
+ * ({@code scraper.host.rate-per-second}, bursts up to {@code scraper.host.burst}) and a
+ * semaphore caps concurrent connections ({@code scraper.host.max-connections}).
+ * Callers over budget wait up to {@code scraper.host.max-wait} (zero means fail fast)
+ * and then get a {@link TooManyRequestsException}.
+ * Host budgets live in a size-bounded map and are dropped after {@code scraper.host.idle-expiry}.
+ */
+@Component
+public class HostRateLimiter {
+
+    private final MeterRegistry meterRegistry;
+    private final double ratePerSecond;
+    private final int burst;
+    private final int maxConnections;
+    private final Duration maxWait;
+    private final Cache<String, HostBudget> budgets;
+
+    public HostRateLimiter(MeterRegistry meterRegistry,
+                           @Value("${scraper.host.rate-per-second:2}") double ratePerSecond,
+                           @Value("${scraper.host.burst:5}") int burst,
+                           @Value("${scraper.host.max-connections:4}") int maxConnections,
+                           @Value("${scraper.host.max-wait:PT5S}") Duration maxWait,
+                           @Value("${scraper.host.max-hosts:1000}") long maxHosts,
+                           @Value("${scraper.host.idle-expiry:PT10M}") Duration idleExpiry) {
+        if (!(ratePerSecond > 0)) {
+            throw new IllegalArgumentException("scraper.host.rate-per-second must be positive: " + ratePerSecond);
+        }
+        if (burst < 1) {
+            throw new IllegalArgumentException("scraper.host.burst must be at least 1: " + burst);
+        }
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("scraper.host.max-connections must be at least 1: " + maxConnections);
+        }
+        this.meterRegistry = meterRegistry;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.maxConnections = maxConnections;
+        this.maxWait = maxWait;
+        this.budgets = Caffeine.newBuilder()
+                .maximumSize(maxHosts)
+                .expireAfterAccess(idleExpiry)
+                // removes the meters while the entry is evicted, before a new budget for the same
+                // host can register them again (a removal listener would run later and could
+                // remove the new budget's meters)
+                .evictionListener((String host, HostBudget budget, RemovalCause cause) -> {
+                    if (budget != null) {
+                        budget.meters.forEach(meterRegistry::remove);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Wait for a connection slot and a rate token for the host.
+     * The returned permit must be closed once the request is finished.
+     */
+    public Permit acquire(String host) {
+        if (host == null) {
+            return () -> { };
+        }
+        HostBudget budget = budgets.get(host, this::newBudget);
+        long deadline = System.nanoTime() + maxWait.toNanos();
+
+        budget.waiting.incrementAndGet();
+        try {
+            if (!budget.connections.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                throw throttled(host, budget);
+            }
+            try {
+                long waitNanos;
+                while ((waitNanos = budget.tryConsume()) > 0) {
+                    if (waitNanos > deadline - System.nanoTime()) {
+                        throw throttled(host, budget);
+                    }
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+            } catch (RuntimeException | InterruptedException e) {
+                budget.connections.release();
+                throw e;
+            }
+            return budget.connections::release;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to scrape " + host);
+        } finally {
+            budget.waiting.decrementAndGet();
+        }
+    }
+
+    private TooManyRequestsException throttled(String host, HostBudget budget) {
+        budget.throttled.increment();
+        return new TooManyRequestsException("Too many scrape requests for " + host + ", retry later");
+    }
+
+    private HostBudget newBudget(String host) {
+        return new HostBudget(host, meterRegistry, ratePerSecond, burst, maxConnections);
+    }
+
+    /**
+     * A held connection slot for a host.
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class HostBudget {
+        final Semaphore connections;
+        final AtomicInteger waiting = new AtomicInteger();
+        final Counter throttled;
+        final List<Meter> meters;
+
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long lastRefill;
+
+        HostBudget(String host, MeterRegistry registry, double ratePerSecond, int burst, int maxConnections) {
+            this.connections = new Semaphore(maxConnections, true);
+            this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = burst;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+
+            this.throttled = Counter.builder("scraper.host.throttled")
+                    .description("Scrapes rejected because the host was over budget")
+                    .tag("host", host)
+                    .register(registry);
+            Gauge queueDepth = Gauge.builder("scraper.host.queue.depth", waiting, AtomicInteger::get)
+                    .description("Scrapes waiting for a connection slot or rate token")
+                    .tag("host", host)
+                    .register(registry);
+            Gauge active = Gauge.builder("scraper.host.connections.active", connections,
+                            s -> maxConnections - s.availablePermits())
+                    .description("Scrapes currently connected to the host")
+                    .tag("host", host)
+                    .register(registry);
+            this.meters = List.of(throttled, queueDepth, active);
+        }
+
+        /**
+         * Take one token if available; otherwise return the nanos until the next token.
+         */
+        synchronized long tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
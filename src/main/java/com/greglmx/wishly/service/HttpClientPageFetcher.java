@@ -0,0 +1,207 @@
+package com.greglmx.wishly.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.brotli.dec.BrotliInputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * {@link PageFetcher} backed by one shared {@link HttpClient}, so connections are
+ * pooled and HTTP/2 is negotiated across scrapes. Bodies are streamed and decoded
+ * on the fly; both the wire bytes and the decoded bytes are capped at
+ * {@code scraper.fetch.max-body-size} and the download is aborted as soon as the
+ * cap is crossed. The whole exchange is bounded by {@code scraper.fetch.timeout}.
+ * Bytes actually read from the network per page are recorded in {@code scraper.fetch.bytes}.
+ */
+@Component
+public class HttpClientPageFetcher implements PageFetcher {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
+    private static final String ACCEPT_HEADER = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
+    private static final String ACCEPT_LANGUAGE = "en-US,en;q=0.9,fr;q=0.8";
+    private static final String ACCEPT_ENCODING = "gzip, deflate, br";
+
+    private final HttpClient client;
+    private final Duration timeout;
+    private final long maxBodyBytes;
+    private final ScheduledExecutorService watchdog;
+    private final DistributionSummary fetchedBytes;
+
+    public HttpClientPageFetcher(MeterRegistry meterRegistry,
+                                 @Value("${scraper.fetch.timeout:PT10S}") Duration timeout,
+                                 @Value("${scraper.fetch.max-body-size:5MB}") DataSize maxBodySize) {
+        this.timeout = timeout;
+        this.maxBodyBytes = maxBodySize.toBytes();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(timeout)
+                .build();
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("page-fetch-watchdog")
+                .daemon(true)
+                .factory());
+        this.fetchedBytes = DistributionSummary.builder("scraper.fetch.bytes")
+                .description("Bytes read from the network per scraped page")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public FetchedPage fetch(String url) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", ACCEPT_HEADER)
+                .header("Accept-Language", ACCEPT_LANGUAGE)
+                .header("Accept-Encoding", ACCEPT_ENCODING)
+                .header("Referer", "https://www.google.com/")
+                .GET()
+                .build();
+
+        HttpResponse<InputStream> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while fetching " + url);
+        }
+
+        InputStream raw = response.body();
+        try {
+            HttpHeaders headers = response.headers();
+            String contentType = headers.firstValue("Content-Type").orElse(null);
+            if (contentType != null && !isMarkup(contentType)) {
+                throw new IOException("Unsupported content type: " + contentType);
+            }
+            long declaredLength = headers.firstValueAsLong("Content-Length").orElse(-1);
+            if (declaredLength > maxBodyBytes) {
+                throw new IOException("Page too large: " + declaredLength + " bytes");
+            }
+
+            // reading the body is not covered by the request timeout; close the stream when the deadline passes
+            ScheduledFuture<?> deadline = watchdog.schedule(() -> closeQuietly(raw), timeout.toMillis(), TimeUnit.MILLISECONDS);
+            CappedInputStream wire = new CappedInputStream(raw, maxBodyBytes);
+            InputStream decoded = new CappedInputStream(decode(wire, headers.firstValue("Content-Encoding").orElse(null)), maxBodyBytes) {
+                private boolean closed;
+
+                @Override
+                public void close() throws IOException {
+                    if (!closed) {
+                        closed = true;
+                        deadline.cancel(false);
+                        fetchedBytes.record(wire.count);
+                    }
+                    super.close();
+                }
+            };
+            return new FetchedPage(response.statusCode(), response.uri().toString(), charsetOf(contentType), decoded);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(raw);
+            throw e;
+        }
+    }
+
+    private static InputStream decode(InputStream in, String contentEncoding) throws IOException {
+        if (contentEncoding == null) {
+            return in;
+        }
+        return switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(in);
+            case "deflate" -> new InflaterInputStream(in);
+            case "br" -> new BrotliInputStream(in);
+            case "identity", "" -> in;
+            default -> throw new IOException("Unsupported content encoding: " + contentEncoding);
+        };
+    }
+
+    private static boolean isMarkup(String contentType) {
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("xml") || type.contains("html");
+    }
+
+    private static String charsetOf(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (String param : contentType.split(";")) {
+            String p = param.trim();
+            if (p.regionMatches(true, 0, "charset=", 0, 8)) {
+                String charset = p.substring(8).replace("\"", "").replace("'", "").trim();
+                try {
+                    return Charset.isSupported(charset) ? charset : null;
+                } catch (IllegalCharsetNameException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException ignored) {
+            // nothing left to release
+        }
+    }
+
+    /**
+     * Fails the read once more than {@code max} bytes went through, which aborts the download.
+     */
+    private static class CappedInputStream extends FilterInputStream {
+        private final long max;
+        private long count;
+
+        CappedInputStream(InputStream in, long max) {
+            super(in);
+            this.max = max;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n = super.read(buf, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            count += n;
+            if (count > max) {
+                throw new IOException("Page too large: more than " + max + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.greglmx.wishly.service;
+
+import java.io.IOException;
+
+/**
+ * Downloads product pages for the scraper. Implementations own connection
+ * management, content decoding and body size limits; callers only parse.
+ */
+public interface PageFetcher {
+
+    /**
+     * Fetch the page. The returned page streams its decoded body and must be closed.
+     * @throws IOException on network errors, unsupported content or an oversized body
+     */
+    FetchedPage fetch(String url) throws IOException;
+}
@@ -0,0 +1,168 @@
+package com.greglmx.wishly.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Index of the page nodes the scraper reads: {@code meta} (by property, name and
+ * itemprop), {@code link[rel]}, JSON-LD scripts, {@code title}, {@code img} and
+ * {@code picture source}. Built in a single pass, either by traversing a parsed
+ * document or by feeding elements as a stream parser closes them, so extractors
+ * never run their own selector scans over the DOM. JSON-LD blocks are parsed once,
+ * when they are indexed.
+ */
+@Slf4j
+final class PageMetadata {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Document document;
+    private final Map<String, String> metas = new HashMap<>();
+    private final Map<String, String> links = new HashMap<>();
+    private final List<JsonNode> jsonLd = new ArrayList<>();
+    private final List<Element> images = new ArrayList<>();
+    private final List<Element> pictureSources = new ArrayList<>();
+    private String title;
+
+    PageMetadata(Document document) {
+        this.document = document;
+    }
+
+    /**
+     * Index a fully parsed document with one traversal.
+     */
+    static PageMetadata of(Document document) {
+        PageMetadata metadata = new PageMetadata(document);
+        document.traverse((node, depth) -> {
+            if (node instanceof Element el) {
+                metadata.add(el);
+            }
+        });
+        return metadata;
+    }
+
+    /**
+     * Index one element; the first non-blank value wins for each key.
+     */
+    void add(Element el) {
+        switch (el.normalName()) {
+            case "meta" -> {
+                String value = el.hasAttr("content") ? el.attr("content") : el.attr("value");
+                if (value.isBlank()) {
+                    return;
+                }
+                putFirst(metas, "property", el.attr("property"), value);
+                putFirst(metas, "name", el.attr("name"), value);
+                putFirst(metas, "itemprop", el.attr("itemprop"), value);
+            }
+            case "link" -> {
+                String href = el.attr("href");
+                if (!href.isBlank()) {
+                    putFirst(links, "rel", el.attr("rel"), href);
+                }
+            }
+            case "script" -> {
+                if ("application/ld+json".equalsIgnoreCase(el.attr("type"))) {
+                    String json = el.data();
+                    if (!json.isBlank()) {
+                        addJsonLd(json);
+                    }
+                }
+            }
+            case "title" -> {
+                if (title == null) {
+                    String text = el.text();
+                    title = text.isBlank() ? null : text.trim();
+                }
+            }
+            case "img" -> {
+                if (el.hasAttr("src")) {
+                    images.add(el);
+                }
+            }
+            case "source" -> {
+                if (el.hasAttr("srcset") && insidePicture(el)) {
+                    pictureSources.add(el);
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    Document document() {
+        return document;
+    }
+
+    String metaProperty(String property) {
+        return metas.get(key("property", property));
+    }
+
+    String metaName(String name) {
+        return metas.get(key("name", name));
+    }
+
+    String metaItemprop(String itemprop) {
+        return metas.get(key("itemprop", itemprop));
+    }
+
+    String linkHref(String rel) {
+        return links.get(key("rel", rel));
+    }
+
+    /**
+     * Parsed JSON-LD blocks in document order; blocks that are not valid JSON are left out.
+     */
+    List<JsonNode> jsonLd() {
+        return jsonLd;
+    }
+
+    String title() {
+        return title;
+    }
+
+    List<Element> images() {
+        return images;
+    }
+
+    List<Element> pictureSources() {
+        return pictureSources;
+    }
+
+    private void addJsonLd(String json) {
+        try {
+            jsonLd.add(MAPPER.readTree(json));
+        } catch (JsonProcessingException e) {
+            log.debug("Failed to parse ld+json block", e);
+        }
+    }
+
+    private static void putFirst(Map<String, String> index, String attr, String attrValue, String value) {
+        if (!attrValue.isEmpty()) {
+            index.putIfAbsent(key(attr, attrValue), value.trim());
+        }
+    }
+
+    private static String key(String attr, String attrValue) {
+        return attr + ':' + attrValue.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean insidePicture(Element el) {
+        for (Element parent = el.parent(); parent != null; parent = parent.parent()) {
+            if (parent.nameIs("picture")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
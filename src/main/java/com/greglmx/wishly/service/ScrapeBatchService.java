@@ -0,0 +1,87 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.dto.ScrapeResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Scrapes several URLs concurrently, one virtual thread per URL.
+ * Concurrency is bounded process-wide ({@code scraper.batch.max-concurrency});
+ * per-host limits are enforced for every fetch by {@link HostRateLimiter}, so a
+ * large import cannot flood a single retailer.
+ */
+@Service
+@Slf4j
+public class ScrapeBatchService {
+
+    private final ScraperService scraperService;
+    private final Semaphore globalPermits;
+
+    public ScrapeBatchService(ScraperService scraperService,
+                              @Value("${scraper.batch.max-concurrency:16}") int maxConcurrency) {
+        this.scraperService = scraperService;
+        this.globalPermits = new Semaphore(maxConcurrency, true);
+    }
+
+    /**
+     * Scrape every URL in parallel and return one entry per URL, in input order.
+     * Total latency is bounded by the slowest page rather than the sum of all pages.
+     */
+    public List<ScrapeResponse> scrapeAll(List<String> urls) {
+        AtomicReferenceArray<ScrapeResponse> results = new AtomicReferenceArray<>(urls.size());
+        scrapeEach(urls, response -> results.set(response.getIndex(), response));
+
+        List<ScrapeResponse> ordered = new ArrayList<>(urls.size());
+        for (int i = 0; i < results.length(); i++) {
+            ordered.add(results.get(i));
+        }
+        return ordered;
+    }
+
+    /**
+     * Scrape every URL in parallel and hand each result to the sink as soon as its
+     * page is done, tagged with the URL's input index. The sink is called from
+     * several threads and must be thread-safe. Returns once every URL is done.
+     * Interrupting the calling thread cancels the scrapes still running; their
+     * results are still handed to the sink, as failures.
+     */
+    public void scrapeEach(List<String> urls, Consumer<ScrapeResponse> sink) {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < urls.size(); i++) {
+                int index = i;
+                String url = urls.get(i);
+                executor.submit(() -> {
+                    ScrapeResponse response = scrapeOne(url);
+                    response.setIndex(index);
+                    sink.accept(response);
+                });
+            }
+        }
+    }
+
+    private ScrapeResponse scrapeOne(String url) {
+        try {
+            globalPermits.acquire();
+            try {
+                return new ScrapeResponse(scraperService.scrapeUrl(url));
+            } finally {
+                globalPermits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ScrapeResponse("Scrape interrupted");
+        } catch (RuntimeException e) {
+            log.warn("[scrapeAll] Failed to scrape URL: {} {}", url, e.getMessage());
+            return new ScrapeResponse(e.getMessage());
+        }
+    }
+}
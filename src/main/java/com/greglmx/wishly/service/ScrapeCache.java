@@ -0,0 +1,161 @@
+package com.greglmx.wishly.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.greglmx.wishly.dto.GiftResponse;
+import com.greglmx.wishly.exception.ServiceUnavailableException;
+import com.greglmx.wishly.exception.TooManyRequestsException;
+import com.greglmx.wishly.util.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineStatsCounter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.function.Function;
+
+/**
+ * In-process cache of scrape results keyed by canonical URL.
+ * Successful results live for {@code scraper.cache.ttl}, failures for the shorter
+ * {@code scraper.cache.negative-ttl}. The cache is bounded by an approximate memory
+ * weight and evicted with Caffeine's W-TinyLFU policy.
+ * Concurrent misses for the same URL are coalesced into a single fetch; waiters give up
+ * after {@code scraper.single-flight.wait-timeout}.
+ * Metrics are published under the {@code cache.*} meters with {@code cache=scrape}.
+ */
+@Component
+public class ScrapeCache {
+
+    private final Cache<String, Entry> cache;
+    private final SingleFlight<String, Entry> singleFlight;
+
+    public ScrapeCache(MeterRegistry meterRegistry,
+                       @Value("${scraper.cache.max-size-mb:32}") long maxSizeMb,
+                       @Value("${scraper.cache.ttl:PT30M}") Duration ttl,
+                       @Value("${scraper.cache.negative-ttl:PT1M}") Duration negativeTtl,
+                       @Value("${scraper.single-flight.wait-timeout:PT15S}") Duration waitTimeout) {
+        CaffeineStatsCounter statsCounter = new CaffeineStatsCounter(meterRegistry, "scrape");
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSizeMb * 1024 * 1024)
+                .weigher((String key, Entry entry) -> entry.weight(key))
+                .expireAfter(new EntryExpiry(ttl, negativeTtl))
+                .recordStats(() -> statsCounter)
+                .build();
+        statsCounter.registerSizeMetric(cache);
+
+        this.singleFlight = new SingleFlight<>(waitTimeout);
+        FunctionCounter.builder("scraper.singleflight.coalesced", singleFlight, SingleFlight::coalescedCount)
+                .description("Scrape calls served by another caller's in-flight fetch")
+                .register(meterRegistry);
+        Gauge.builder("scraper.singleflight.inflight", singleFlight, SingleFlight::inFlightCount)
+                .description("Distinct URLs currently being fetched")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the cached result for the canonical URL, or run the loader and cache
+     * its outcome. Concurrent callers for the same URL share one loader call.
+     * Fetch failures are cached as negative entries and rethrown; invalid URLs
+     * ({@link IllegalArgumentException}), throttled calls, calls rejected by an
+     * open circuit breaker and interrupted (cancelled) calls are never cached.
+     * Each caller gets its own copy of the result, carrying the URL it asked for.
+     */
+    public GiftResponse get(String canonicalUrl, String requestedUrl, Function<String, GiftResponse> loader) {
+        Entry cached = cache.getIfPresent(canonicalUrl);
+        if (cached == null) {
+            cached = singleFlight.execute(canonicalUrl, () -> load(canonicalUrl, loader));
+        }
+        if (cached.error() != null) {
+            throw new RuntimeException(cached.error());
+        }
+        return copy(cached.value(), requestedUrl);
+    }
+
+    private static GiftResponse copy(GiftResponse value, String url) {
+        GiftResponse response = new GiftResponse();
+        response.setName(value.getName());
+        response.setDescription(value.getDescription());
+        response.setPrice(value.getPrice());
+        response.setCurrency(value.getCurrency());
+        response.setImages(value.getImages() != null ? new ArrayList<>(value.getImages()) : null);
+        response.setTags(value.getTags() != null ? new ArrayList<>(value.getTags()) : null);
+        response.setUrl(url);
+        return response;
+    }
+
+    private Entry load(String canonicalUrl, Function<String, GiftResponse> loader) {
+        // another leader may have completed between our miss and taking the flight
+        Entry entry = cache.policy().getIfPresentQuietly(canonicalUrl);
+        if (entry != null) {
+            return entry;
+        }
+        try {
+            entry = new Entry(loader.apply(canonicalUrl), null);
+        } catch (IllegalArgumentException | TooManyRequestsException | ServiceUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                // a cancelled scrape says nothing about the page
+                throw e;
+            }
+            entry = new Entry(null, e.getMessage() != null ? e.getMessage() : "Unable to scrape the page");
+        }
+        cache.put(canonicalUrl, entry);
+        return entry;
+    }
+
+    private record Entry(GiftResponse value, String error) {
+
+        /**
+         * Rough heap footprint in bytes (UTF-16 chars plus fixed object overhead).
+         */
+        int weight(String key) {
+            long chars = key.length();
+            if (error != null) {
+                chars += error.length();
+            }
+            if (value != null) {
+                chars += length(value.getName()) + length(value.getDescription()) + length(value.getUrl());
+                if (value.getImages() != null) {
+                    for (String image : value.getImages()) {
+                        chars += length(image);
+                    }
+                }
+            }
+            return (int) Math.min(Integer.MAX_VALUE, 256 + chars * 2);
+        }
+
+        private static int length(String s) {
+            return s != null ? s.length() : 0;
+        }
+    }
+
+    private static final class EntryExpiry implements Expiry<String, Entry> {
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private EntryExpiry(Duration ttl, Duration negativeTtl) {
+            this.ttlNanos = ttl.toNanos();
+            this.negativeTtlNanos = negativeTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Entry entry, long currentTime) {
+            return entry.error() != null ? negativeTtlNanos : ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, entry, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
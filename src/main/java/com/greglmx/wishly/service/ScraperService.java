@@ -1,21 +1,37 @@
 package com.greglmx.wishly.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.greglmx.wishly.dto.GiftResponse;
+import com.greglmx.wishly.exception.ServiceUnavailableException;
+import com.greglmx.wishly.exception.TooManyRequestsException;
+import com.greglmx.wishly.util.PriceParser;
+import com.greglmx.wishly.util.PriceParser.Price;
+import com.greglmx.wishly.util.UrlCanonicalizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
@@ -26,57 +42,86 @@ import java.util.regex.Pattern;
 @Slf4j
 public class ScraperService {
 
-    private static final int TIMEOUT_MS = 10000; // 10 seconds timeout
-    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
-    private static final String ACCEPT_HEADER = "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8";
-    private static final String ACCEPT_LANGUAGE = "en-US,en;q=0.9,fr;q=0.8";
-    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Pattern META_CHARSET = Pattern.compile("<meta[^>]+charset\\s*=\\s*[\"']?([A-Za-z0-9_.:-]+)", Pattern.CASE_INSENSITIVE);
+    private static final int CHARSET_SNIFF_BYTES = 4096;
+
+    private final PageFetcher pageFetcher;
+    private final ScrapeCache scrapeCache;
+    private final HostRateLimiter hostRateLimiter;
+    private final HostCircuitBreakers hostCircuitBreakers;
+    private final MeterRegistry meterRegistry;
+    private final boolean streamingExtraction;
+
+    public ScraperService(PageFetcher pageFetcher,
+                          ScrapeCache scrapeCache,
+                          HostRateLimiter hostRateLimiter,
+                          HostCircuitBreakers hostCircuitBreakers,
+                          MeterRegistry meterRegistry,
+                          @Value("${scraper.extract.streaming:true}") boolean streamingExtraction) {
+        this.pageFetcher = pageFetcher;
+        this.scrapeCache = scrapeCache;
+        this.hostRateLimiter = hostRateLimiter;
+        this.hostCircuitBreakers = hostCircuitBreakers;
+        this.meterRegistry = meterRegistry;
+        this.streamingExtraction = streamingExtraction;
+    }
 
     /**
      * Scrape product information from a given URL
+     * Results are cached by canonical URL (tracking params stripped), so repeated
+     * links are served without a new outbound request.
+     */
+    public GiftResponse scrapeUrl(String url) {
+        String canonicalUrl = UrlCanonicalizer.canonicalize(url);
+        return scrapeCache.get(canonicalUrl, url, this::fetchAndExtract);
+    }
+
+    /**
+     * Fetch and extract product information
      * Strategy:
      * 1. Extract meta tags (Open Graph, Twitter Card)
      * 2. Extract title and description
      * 3. Extract images
-     * 4. Detect price with regex patterns
+     * 4. Detect price and currency
      */
-    public GiftResponse scrapeUrl(String url) {
+    private GiftResponse fetchAndExtract(String url) {
         log.info("[scrapeUrl] Scraping URL: {}", url);
         try {
             // Validate URL format
-            new URI(url).toURL();
-
-            // Fetch and parse HTML document
-                Document doc = Jsoup.connect(url)
-                    .userAgent(USER_AGENT)
-                    .header("Accept", ACCEPT_HEADER)
-                    .header("Accept-Language", ACCEPT_LANGUAGE)
-                    .referrer("https://www.google.com/")
-                    .timeout(TIMEOUT_MS)
-                    .followRedirects(true)
-                    .ignoreHttpErrors(true)
-                    .get();
+            URL target = new URI(url).toURL();
+
+            // Fetch and parse HTML document within the host's rate and connection budget,
+            // failing fast while the host's circuit breaker is open
+            String host = target.getHost();
+            hostCircuitBreakers.checkPermitted(host);
+            PageMetadata page;
+            try (HostRateLimiter.Permit permit = hostRateLimiter.acquire(host)) {
+                page = hostCircuitBreakers.execute(host, () -> fetch(url));
+            }
 
             GiftResponse response = new GiftResponse();
             response.setUrl(url);
 
-            StructuredDataResult structuredData = extractStructuredData(doc, url);
+            StructuredDataResult structuredData = extractStructuredData(page, url);
 
             // Extract title from structured data/meta or regular title
-            String title = structuredData.name != null ? structuredData.name : extractTitle(doc);
+            String title = structuredData.name != null ? structuredData.name : extractTitle(page);
             response.setName(title);
 
             // Extract description from meta tags or structured data
-            String description = structuredData.description != null ? structuredData.description : extractDescription(doc);
+            String description = structuredData.description != null ? structuredData.description : extractDescription(page);
             response.setDescription(description);
 
             // Extract images merging structured data and document images
-            List<String> images = mergeImages(structuredData.images, extractImages(doc, url));
+            List<String> images = mergeImages(structuredData.images, extractImages(page, url));
             response.setImages(images);
 
-            // Extract price from structured data, meta price tags, then regex
-            Double price = structuredData.price != null ? structuredData.price : extractPrice(doc);
-            response.setPrice(price);
+            // Extract price from structured data and meta price tags, then page text
+            Price price = structuredData.price != null ? structuredData.price : extractPrice(page);
+            if (price != null) {
+                response.setPrice(price.amount());
+                response.setCurrency(price.currency());
+            }
 
             return response;
 
@@ -86,6 +131,9 @@ public class ScraperService {
         } catch (URISyntaxException e) {
             log.warn("Invalid URL syntax: {}", url, e);
             throw new IllegalArgumentException("Invalid URL format: " + url);
+        } catch (TooManyRequestsException | ServiceUnavailableException e) {
+            log.warn("Scrape rejected: {} {}", url, e.getMessage());
+            throw e;
         } catch (IOException e) {
             log.error("Error scraping URL: {}", url, e);
             throw new RuntimeException("Unable to scrape the page: " + e.getMessage());
@@ -95,63 +143,186 @@ public class ScraperService {
         }
     }
 
-    private StructuredDataResult extractStructuredData(Document doc, String baseUrl) {
-        StructuredDataResult result = new StructuredDataResult();
+    /**
+     * Download the page through the {@link PageFetcher}, parse its bytes with Jsoup and
+     * index the nodes the extractors read.
+     * Server errors and 429 responses are reported as failures so the host's circuit
+     * breaker can see a retailer that is down or blocking us.
+     */
+    private PageMetadata fetch(String url) throws IOException {
+        try (FetchedPage page = pageFetcher.fetch(url)) {
+            int status = page.status();
+            if (status == 429 || status >= 500) {
+                throw new IOException("HTTP " + status);
+            }
+            if (streamingExtraction) {
+                return parseHeadFirst(page);
+            }
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Document doc = Jsoup.parse(page.body(), page.charset(), page.url());
+            PageMetadata metadata = PageMetadata.of(doc);
+            sample.stop(parseTimer("full"));
+            return metadata;
+        }
+    }
 
-        // JSON-LD Product blocks (schema.org)
-        Elements ldJson = doc.select("script[type=application/ld+json]");
-        for (Element script : ldJson) {
-            String json = script.data();
-            if (json == null || json.isBlank()) {
-                continue;
+    /**
+     * Parse the page incrementally and stop reading from the socket as soon as the
+     * product essentials (price and an image) are known: first once the head is
+     * closed (meta, og:*, head JSON-LD), then after each JSON-LD block in the body.
+     * Only pages that never provide them are parsed to the end, so that body images
+     * and the text price fallback can be used.
+     * Elements are indexed as the parser closes them, so the document is never walked
+     * again; the returned metadata covers whatever was parsed before stopping.
+     */
+    private PageMetadata parseHeadFirst(FetchedPage page) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (StreamParser streamer = new StreamParser(Parser.htmlParser()).parse(openReader(page), page.url())) {
+            PageMetadata metadata = new PageMetadata(streamer.document());
+            StructuredDataResult jsonLd = new StructuredDataResult();
+            boolean headClosed = false;
+            Iterator<Element> elements = streamer.iterator();
+            while (elements.hasNext()) {
+                Element el = elements.next();
+                metadata.add(el);
+                boolean checkpoint = el.nameIs("head")
+                        || (headClosed && el.nameIs("script") && "application/ld+json".equalsIgnoreCase(el.attr("type")));
+                headClosed |= el.nameIs("head");
+                if (checkpoint && hasProductEssentials(metadata, jsonLd, page.url())) {
+                    streamer.stop();
+                    sample.stop(parseTimer("head"));
+                    return metadata;
+                }
             }
+            sample.stop(parseTimer("full"));
+            return metadata;
+        }
+    }
+
+    /**
+     * Whether the page read so far has a price and an image. Only the JSON-LD blocks
+     * that arrived since the previous checkpoint are read into {@code jsonLd}; meta
+     * tags are index lookups.
+     */
+    private boolean hasProductEssentials(PageMetadata partial, StructuredDataResult jsonLd, String baseUrl) {
+        readJsonLd(partial, jsonLd, baseUrl);
+        boolean hasPrice = jsonLd.price != null || metaPrice(partial) != null;
+        boolean hasImage = !jsonLd.images.isEmpty()
+                || firstNonBlank(
+                        partial.metaProperty("og:image"),
+                        partial.metaProperty("og:image:secure_url"),
+                        partial.metaName("twitter:image"),
+                        partial.metaName("twitter:image:src"),
+                        partial.metaItemprop("image"),
+                        partial.linkHref("image_src")
+                ) != null;
+        return hasPrice && hasImage;
+    }
+
+    private Timer parseTimer(String mode) {
+        return Timer.builder("scraper.parse")
+                .description("Time spent parsing scraped pages")
+                .tag("mode", mode)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reader over the page body using a UTF-8 BOM if present, else the header charset,
+     * else a meta charset sniffed from the first bytes, else UTF-8.
+     */
+    private static Reader openReader(FetchedPage page) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(page.body(), CHARSET_SNIFF_BYTES * 2);
+        in.mark(CHARSET_SNIFF_BYTES);
+        byte[] head = in.readNBytes(CHARSET_SNIFF_BYTES);
+        in.reset();
+
+        // a BOM left in the stream would be parsed as text and open the body early
+        if (head.length >= 3 && (head[0] & 0xFF) == 0xEF && (head[1] & 0xFF) == 0xBB && (head[2] & 0xFF) == 0xBF) {
+            in.skipNBytes(3);
+            return new InputStreamReader(in, StandardCharsets.UTF_8);
+        }
+        String charset = page.charset() != null ? page.charset() : sniffCharset(head);
+        return new InputStreamReader(in, charset);
+    }
+
+    private static String sniffCharset(byte[] head) {
+        Matcher matcher = META_CHARSET.matcher(new String(head, StandardCharsets.ISO_8859_1));
+        if (matcher.find()) {
             try {
-                JsonNode node = MAPPER.readTree(json);
-                if (node.isArray()) {
-                    for (JsonNode item : node) {
-                        if (parseProductNode(item, result, baseUrl)) {
-                            break;
-                        }
-                    }
-                } else {
-                    parseProductNode(node, result, baseUrl);
+                if (Charset.isSupported(matcher.group(1))) {
+                    return matcher.group(1);
                 }
-            } catch (Exception e) {
-                log.debug("Failed to parse ld+json block", e);
+            } catch (IllegalCharsetNameException e) {
+                log.debug("Ignoring invalid charset: {}", matcher.group(1));
             }
         }
+        return StandardCharsets.UTF_8.name();
+    }
+
+    private StructuredDataResult extractStructuredData(PageMetadata page, String baseUrl) {
+        StructuredDataResult result = new StructuredDataResult();
+        readJsonLd(page, result, baseUrl);
 
         // Meta price fallbacks
-        String priceCandidate = firstNonBlank(
-                metaContent(doc, "meta[property=product:price:amount]"),
-                metaContent(doc, "meta[property=og:price:amount]"),
-                metaContent(doc, "meta[name=price]"),
-                metaContent(doc, "meta[itemprop=price]")
-        );
-        if (priceCandidate != null && result.price == null) {
-            result.price = parsePriceNumber(priceCandidate);
+        if (result.price == null) {
+            result.price = metaPrice(page);
         }
 
         // Meta name/description fallbacks if JSON-LD missed
         if (result.name == null) {
             result.name = firstNonBlank(
-                    metaContent(doc, "meta[itemprop=name]"),
-                    metaContent(doc, "meta[name=title]")
+                    page.metaItemprop("name"),
+                    page.metaName("title")
             );
         }
         if (result.description == null) {
-            result.description = metaContent(doc, "meta[itemprop=description]");
+            result.description = page.metaItemprop("description");
         }
 
         // Meta image fallbacks
-        addImageIfPresent(result.images, metaContent(doc, "meta[property=og:image:secure_url]"), baseUrl);
-        addImageIfPresent(result.images, metaContent(doc, "meta[name=twitter:image:src]"), baseUrl);
-        addImageIfPresent(result.images, metaContent(doc, "meta[itemprop=image]"), baseUrl);
-        addImageIfPresent(result.images, linkHref(doc, "link[rel=image_src]"), baseUrl);
+        addImageIfPresent(result.images, page.metaProperty("og:image:secure_url"), baseUrl);
+        addImageIfPresent(result.images, page.metaName("twitter:image:src"), baseUrl);
+        addImageIfPresent(result.images, page.metaItemprop("image"), baseUrl);
+        addImageIfPresent(result.images, page.linkHref("image_src"), baseUrl);
 
         return result;
     }
 
+    /**
+     * Read the JSON-LD Product blocks (schema.org) indexed since the previous call into
+     * the result, so that a page read incrementally has each block looked at once.
+     */
+    private void readJsonLd(PageMetadata page, StructuredDataResult result, String baseUrl) {
+        List<JsonNode> blocks = page.jsonLd();
+        for (; result.jsonLdRead < blocks.size(); result.jsonLdRead++) {
+            JsonNode node = blocks.get(result.jsonLdRead);
+            if (node.isArray()) {
+                for (JsonNode item : node) {
+                    if (parseProductNode(item, result, baseUrl)) {
+                        break;
+                    }
+                }
+            } else {
+                parseProductNode(node, result, baseUrl);
+            }
+        }
+    }
+
+    private Price metaPrice(PageMetadata page) {
+        String priceCandidate = firstNonBlank(
+                page.metaProperty("product:price:amount"),
+                page.metaProperty("og:price:amount"),
+                page.metaName("price"),
+                page.metaItemprop("price")
+        );
+        Price price = priceCandidate != null ? PriceParser.parse(priceCandidate) : null;
+        return price != null ? price.withCurrency(firstNonBlank(
+                page.metaProperty("product:price:currency"),
+                page.metaProperty("og:price:currency"),
+                page.metaItemprop("priceCurrency")
+        )) : null;
+    }
+
     private boolean parseProductNode(JsonNode node, StructuredDataResult result, String baseUrl) {
         if (node == null) {
             return false;
@@ -195,14 +366,14 @@ public class ScraperService {
             JsonNode offers = node.get("offers");
             if (offers.isArray()) {
                 for (JsonNode offer : offers) {
-                    Double parsed = extractPriceFromOffer(offer);
+                    Price parsed = extractPriceFromOffer(offer);
                     if (parsed != null) {
                         result.price = parsed;
                         break;
                     }
                 }
             } else {
-                Double parsed = extractPriceFromOffer(offers);
+                Price parsed = extractPriceFromOffer(offers);
                 if (parsed != null) {
                     result.price = parsed;
                 }
@@ -212,26 +383,39 @@ public class ScraperService {
         return true;
     }
 
-    private Double extractPriceFromOffer(JsonNode offer) {
+    private Price extractPriceFromOffer(JsonNode offer) {
         if (offer == null) {
             return null;
         }
         if (offer.has("price")) {
-            String priceStr = offer.get("price").asText(null);
-            Double parsed = parsePriceNumber(priceStr);
+            Price parsed = parseOfferPrice(offer.get("price"));
             if (parsed != null) {
-                return parsed;
+                return parsed.withCurrency(offer.path("priceCurrency").asText(null));
             }
         }
         if (offer.has("priceSpecification")) {
             JsonNode spec = offer.get("priceSpecification");
             if (spec.has("price")) {
-                return parsePriceNumber(spec.get("price").asText(null));
+                Price parsed = parseOfferPrice(spec.get("price"));
+                if (parsed != null) {
+                    return parsed.withCurrency(firstNonBlank(
+                            spec.path("priceCurrency").asText(null),
+                            offer.path("priceCurrency").asText(null)
+                    ));
+                }
             }
         }
         return null;
     }
 
+    private Price parseOfferPrice(JsonNode price) {
+        // JSON numbers always use '.' as decimal separator, never as grouping
+        if (price.isNumber()) {
+            return new Price(price.asDouble(), null);
+        }
+        return PriceParser.parse(price.asText(null));
+    }
+
     private List<String> mergeImages(List<String> structuredImages, List<String> extractedImages) {
         LinkedHashSet<String> merged = new LinkedHashSet<>();
         if (structuredImages != null) {
@@ -243,29 +427,18 @@ public class ScraperService {
         return merged.isEmpty() ? null : new ArrayList<>(merged);
     }
 
-    private void addImageIfPresent(List<String> images, String candidate, String baseUrl) {
+    private void addImageIfPresent(Collection<String> images, String candidate, String baseUrl) {
         if (candidate == null || candidate.isBlank()) {
             return;
         }
         images.add(normalizeUrl(candidate, baseUrl));
     }
 
-    private String metaContent(Document doc, String cssQuery) {
-        Element el = doc.selectFirst(cssQuery);
-        if (el == null) {
+    private String firstSrcsetCandidate(String srcset) {
+        if (srcset == null || srcset.isBlank()) {
             return null;
         }
-        String value = el.hasAttr("content") ? el.attr("content") : el.attr("value");
-        return value == null || value.isBlank() ? null : value.trim();
-    }
-
-    private String linkHref(Document doc, String cssQuery) {
-        Element el = doc.selectFirst(cssQuery);
-        if (el == null) {
-            return null;
-        }
-        String value = el.attr("href");
-        return value == null || value.isBlank() ? null : value.trim();
+        return srcset.split(",")[0].trim().split(" ")[0];
     }
 
     private String firstNonBlank(String... values) {
@@ -277,95 +450,19 @@ public class ScraperService {
         return null;
     }
 
-    private Double parsePriceNumber(String priceStr) {
-        if (priceStr == null) {
-            return null;
-        }
-        // Keep only digits, separators, and signs for heuristic parsing
-        String cleaned = priceStr
-                .replaceAll("[A-Za-z]{3}", " ") // remove currency codes
-                .replaceAll("[\\u00A3\\u20AC$¥₹]", " ") // remove symbols
-                .replaceAll("[^0-9.,]", "")
-                .trim();
-
-        if (cleaned.isEmpty()) {
-            return null;
-        }
-
-        int lastComma = cleaned.lastIndexOf(',');
-        int lastDot = cleaned.lastIndexOf('.');
-
-        // Determine decimal separator heuristic
-        char decimalSep;
-        if (lastComma == -1 && lastDot == -1) {
-            decimalSep = '.'; // integer value
-        } else if (lastComma == -1) {
-            decimalSep = '.';
-        } else if (lastDot == -1) {
-            decimalSep = ',';
-        } else {
-            decimalSep = lastComma > lastDot ? ',' : '.';
-        }
-
-        // Remove thousands separators (the opposite of decimalSep) and normalize decimal
-        if (decimalSep == ',') {
-            cleaned = cleaned.replace(".", "");
-            cleaned = cleaned.replace(',', '.');
-        } else {
-            cleaned = cleaned.replace(",", "");
-        }
-
-        try {
-            return Double.parseDouble(cleaned);
-        } catch (NumberFormatException e) {
-            // Fallback: simple regex to grab first numeric fragment
-            Matcher matcher = Pattern.compile("(\\d+(?:\\.\\d{1,2})?)").matcher(cleaned);
-            if (matcher.find()) {
-                try {
-                    return Double.parseDouble(matcher.group(1));
-                } catch (NumberFormatException ignored) {
-                    return null;
-                }
-            }
-            return null;
-        }
-    }
-
     /**
      * Extract title from:
      * 1. og:title (Open Graph)
      * 2. twitter:title (Twitter Card)
      * 3. <title> tag
      */
-    private String extractTitle(Document doc) {
-        // Try Open Graph title
-        Element ogTitle = doc.selectFirst("meta[property=og:title]");
-        if (ogTitle != null) {
-            String title = ogTitle.attr("content");
-            if (title != null && !title.isBlank()) {
-                return title.trim();
-            }
-        }
-
-        // Try Twitter Card title
-        Element twitterTitle = doc.selectFirst("meta[name=twitter:title]");
-        if (twitterTitle != null) {
-            String title = twitterTitle.attr("content");
-            if (title != null && !title.isBlank()) {
-                return title.trim();
-            }
-        }
-
-        // Try regular title tag
-        Element titleTag = doc.selectFirst("title");
-        if (titleTag != null) {
-            String title = titleTag.text();
-            if (title != null && !title.isBlank()) {
-                return title.trim();
-            }
-        }
-
-        return "Product from " + extractDomain(doc.location());
+    private String extractTitle(PageMetadata page) {
+        String title = firstNonBlank(
+                page.metaProperty("og:title"),
+                page.metaName("twitter:title"),
+                page.title()
+        );
+        return title != null ? title : "Product from " + extractDomain(page.document().location());
     }
 
     /**
@@ -374,35 +471,12 @@ public class ScraperService {
      * 2. twitter:description (Twitter Card)
      * 3. meta description
      */
-    private String extractDescription(Document doc) {
-        // Try Open Graph description
-        Element ogDesc = doc.selectFirst("meta[property=og:description]");
-        if (ogDesc != null) {
-            String desc = ogDesc.attr("content");
-            if (desc != null && !desc.isBlank()) {
-                return desc.trim();
-            }
-        }
-
-        // Try Twitter Card description
-        Element twitterDesc = doc.selectFirst("meta[name=twitter:description]");
-        if (twitterDesc != null) {
-            String desc = twitterDesc.attr("content");
-            if (desc != null && !desc.isBlank()) {
-                return desc.trim();
-            }
-        }
-
-        // Try regular meta description
-        Element metaDesc = doc.selectFirst("meta[name=description]");
-        if (metaDesc != null) {
-            String desc = metaDesc.attr("content");
-            if (desc != null && !desc.isBlank()) {
-                return desc.trim();
-            }
-        }
-
-        return null;
+    private String extractDescription(PageMetadata page) {
+        return firstNonBlank(
+                page.metaProperty("og:description"),
+                page.metaName("twitter:description"),
+                page.metaName("description")
+        );
     }
 
     /**
@@ -411,58 +485,21 @@ public class ScraperService {
      * 2. twitter:image (Twitter Card)
      * 3. <img> tags (with src attribute)
      */
-    private List<String> extractImages(Document doc, String baseUrl) {
+    private List<String> extractImages(PageMetadata page, String baseUrl) {
         Set<String> images = new LinkedHashSet<>();
 
-        // Try Open Graph image
-        Element ogImage = doc.selectFirst("meta[property=og:image]");
-        if (ogImage != null) {
-            String imgUrl = ogImage.attr("content");
-            if (imgUrl != null && !imgUrl.isBlank()) {
-                images.add(normalizeUrl(imgUrl, baseUrl));
-            }
-        }
-
-        // Secure OG image
-        Element ogImageSecure = doc.selectFirst("meta[property=og:image:secure_url]");
-        if (ogImageSecure != null) {
-            String imgUrl = ogImageSecure.attr("content");
-            if (imgUrl != null && !imgUrl.isBlank()) {
-                images.add(normalizeUrl(imgUrl, baseUrl));
-            }
-        }
-
-        // Try Twitter Card image
-        Element twitterImage = doc.selectFirst("meta[name=twitter:image]");
-        if (twitterImage != null) {
-            String imgUrl = twitterImage.attr("content");
-            if (imgUrl != null && !imgUrl.isBlank()) {
-                images.add(normalizeUrl(imgUrl, baseUrl));
-            }
-        }
-        Element twitterImageSrc = doc.selectFirst("meta[name=twitter:image:src]");
-        if (twitterImageSrc != null) {
-            String imgUrl = twitterImageSrc.attr("content");
-            if (imgUrl != null && !imgUrl.isBlank()) {
-                images.add(normalizeUrl(imgUrl, baseUrl));
-            }
-        }
-
-        // Itemprop/link images
-        String itempropImage = metaContent(doc, "meta[itemprop=image]");
-        if (itempropImage != null) {
-            images.add(normalizeUrl(itempropImage, baseUrl));
-        }
-        String linkImage = linkHref(doc, "link[rel=image_src]");
-        if (linkImage != null) {
-            images.add(normalizeUrl(linkImage, baseUrl));
-        }
+        // Open Graph, Twitter Card, itemprop and link images
+        addImageIfPresent(images, page.metaProperty("og:image"), baseUrl);
+        addImageIfPresent(images, page.metaProperty("og:image:secure_url"), baseUrl);
+        addImageIfPresent(images, page.metaName("twitter:image"), baseUrl);
+        addImageIfPresent(images, page.metaName("twitter:image:src"), baseUrl);
+        addImageIfPresent(images, page.metaItemprop("image"), baseUrl);
+        addImageIfPresent(images, page.linkHref("image_src"), baseUrl);
 
         // Extract from img tags
-        Elements imgTags = doc.select("img[src]");
-        for (Element img : imgTags) {
+        for (Element img : page.images()) {
             String imgUrl = firstNonBlank(img.attr("src"), img.attr("data-src"), img.attr("data-original"), img.attr("data-zoom-image"));
-            if (imgUrl != null && !imgUrl.isBlank()) {
+            if (imgUrl != null) {
                 String normalizedUrl = normalizeUrl(imgUrl, baseUrl);
                 // Avoid duplicates and too small images
                 if (!normalizedUrl.toLowerCase().contains("favicon")) {
@@ -471,31 +508,12 @@ public class ScraperService {
             }
 
             // srcset support (take the first candidate)
-            String srcset = img.attr("srcset");
-            if (srcset != null && !srcset.isBlank()) {
-                String[] candidates = srcset.split(",");
-                if (candidates.length > 0) {
-                    String first = candidates[0].trim().split(" ")[0];
-                    if (first != null && !first.isBlank()) {
-                        images.add(normalizeUrl(first, baseUrl));
-                    }
-                }
-            }
+            addImageIfPresent(images, firstSrcsetCandidate(img.attr("srcset")), baseUrl);
         }
 
         // picture source tags
-        Elements sources = doc.select("picture source[srcset]");
-        for (Element source : sources) {
-            String srcset = source.attr("srcset");
-            if (srcset != null && !srcset.isBlank()) {
-                String[] candidates = srcset.split(",");
-                if (candidates.length > 0) {
-                    String first = candidates[0].trim().split(" ")[0];
-                    if (first != null && !first.isBlank()) {
-                        images.add(normalizeUrl(first, baseUrl));
-                    }
-                }
-            }
+        for (Element source : page.pictureSources()) {
+            addImageIfPresent(images, firstSrcsetCandidate(source.attr("srcset")), baseUrl);
         }
 
         // Limit to 8 images to avoid bloat
@@ -511,47 +529,12 @@ public class ScraperService {
     }
 
     /**
-     * Extract price using regex patterns for common currency symbols
-     * Matches patterns like: €99.99, $19.99, £10.50, etc.
+     * Find a price in the page text, preferring amounts written next to a currency
+     * symbol or code (€99.99, 19,99 EUR) over bare two-decimal numbers.
+     * Meta price tags are already covered by the structured data fallbacks.
      */
-    private Double extractPrice(Document doc) {
-        // Check meta price declarations first
-        String metaPrice = firstNonBlank(
-                metaContent(doc, "meta[property=product:price:amount]"),
-                metaContent(doc, "meta[property=og:price:amount]"),
-                metaContent(doc, "meta[name=price]"),
-                metaContent(doc, "meta[itemprop=price]")
-        );
-        Double parsedMeta = parsePriceNumber(metaPrice);
-        if (parsedMeta != null) {
-            return parsedMeta;
-        }
-
-        // Get all text from the document
-        String text = doc.text();
-
-        // Regular expressions for different currency formats
-        Pattern[] patterns = {
-                Pattern.compile("[€$£¥₹]\\s*([0-9]+[.,][0-9]{1,2})"),  // € 99.99 or €99,99
-                Pattern.compile("([0-9]+[.,][0-9]{1,2})\\s*[€$£¥₹]"),  // 99.99 € or 99,99€
-                Pattern.compile("\\b(\\d+[.,]\\d{2})\\b"),              // Generic price format
-        };
-
-        for (Pattern pattern : patterns) {
-            Matcher matcher = pattern.matcher(text);
-            if (matcher.find()) {
-                String priceStr = matcher.group(1);
-                // Replace comma with dot for parsing
-                priceStr = priceStr.replace(",", ".");
-                try {
-                    return Double.parseDouble(priceStr);
-                } catch (NumberFormatException e) {
-                    log.debug("Failed to parse price: {}", priceStr);
-                }
-            }
-        }
-
-        return null;
+    private Price extractPrice(PageMetadata page) {
+        return PriceParser.find(page.document().text());
     }
 
     /**
@@ -621,7 +604,9 @@ public class ScraperService {
     private static class StructuredDataResult {
         String name;
         String description;
-        Double price;
+        Price price;
         List<String> images = new ArrayList<>();
+        // JSON-LD blocks of the page already read into this result
+        int jsonLdRead;
     }
 }
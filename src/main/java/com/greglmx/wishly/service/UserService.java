@@ -2,32 +2,74 @@ package com.greglmx.wishly.service;
 
 import com.greglmx.wishly.model.User;
 import com.greglmx.wishly.repository.UserRepository;
+import com.greglmx.wishly.security.UserChangedEvent;
+import com.greglmx.wishly.security.UserPrincipal;
+import com.greglmx.wishly.security.UserPrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
-import java.util.ArrayList;
+import java.util.List;
 
 @Service
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         // For Spring Security's loadUserByUsername, we still use this method but load by email
-        User user = userRepository.findByEmailIgnoreCase(username);
+        User user = userRepository.findByEmailNormalized(User.normalizeEmail(username));
         if (user == null) {
             throw new UsernameNotFoundException("User not found with email: " + username);
         }
-        return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), new ArrayList<>());
+        // carries the id and role so that login can mint its token without reloading the user
+        String role = user.getRole() != null ? user.getRole().name() : "USER";
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(),
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)), user.getTokenVersion());
+    }
+
+    /**
+     * Store a re-encoded password after a successful login whose hash used outdated
+     * settings (e.g. a lower BCrypt strength). Called by Spring Security's
+     * authentication provider.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        UserPrincipal principal = (UserPrincipal) userDetails;
+        userRepository.updatePassword(principal.getId(), newPassword);
+        // the bulk update bypasses the entity listener, announce the change ourselves
+        eventPublisher.publishEvent(new UserChangedEvent(principal.getId(), principal.getUsername()));
+        return new UserPrincipal(principal.getId(), principal.getUsername(), newPassword, principal.getAuthorities(),
+                principal.getTokenVersion());
     }
 
     /**
      * Load user by email (used for authentication).
      */
     public User getUserByEmail(String email) {
-        return userRepository.findByEmailIgnoreCase(email);
+        return userRepository.findByEmailNormalized(User.normalizeEmail(email));
+    }
+
+    /**
+     * Load the principal used to authenticate requests, served from the principal
+     * cache. Returns null when no user has this email.
+     */
+    public UserPrincipal loadPrincipalByEmail(String email) {
+        return userPrincipalCache.get(email, key -> {
+            User user = userRepository.findByEmailNormalized(key);
+            if (user == null) {
+                return null;
+            }
+            String role = user.getRole() != null ? user.getRole().name() : "USER";
+            return new UserPrincipal(user.getId(), user.getUsername(), role);
+        });
     }
 
     /**
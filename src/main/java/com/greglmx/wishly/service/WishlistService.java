@@ -76,10 +76,7 @@ public class WishlistService {
         if (wishlistUpdates.getVisibility() != null) {
             existing.setVisibility(wishlistUpdates.getVisibility());
         }
-        if (wishlistUpdates.getCountGifts() != null) {
-            existing.setCountGifts(wishlistUpdates.getCountGifts());
-        }
-        // Do NOT allow changing ownerId via updates
+        // Do NOT allow changing ownerId or countGifts (maintained by GiftService) via updates
 
         return wishlistRepository.save(existing);
     }
@@ -2,8 +2,10 @@ package com.greglmx.wishly.util;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
@@ -24,14 +26,40 @@ public class JwtUtil {
     @Value("${jwt.expiration-ms:36000000}") // 10 hours default
     private long jwtExpirationMs;
 
-    private Key getSigningKey() {
+    // key and parser are swapped together on rotation; JwtParser is immutable and thread-safe
+    private volatile SigningKeys signingKeys;
+    private long effectiveExpirationMs;
+
+    private record SigningKeys(Key key, JwtParser parser) {
+    }
+
+    @PostConstruct
+    void init() {
         String envSecret = System.getenv("JWT_SECRET");
+        rotateKey((envSecret != null && !envSecret.isEmpty()) ? envSecret : SECRET_KEY);
+        effectiveExpirationMs = resolveJwtExpirationMs();
+    }
+
+    /**
+     * Replace the signing key. Tokens signed with the previous key stop validating.
+     */
+    public void rotateKey(String secret) {
+        Key key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        JwtParser parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        signingKeys = new SigningKeys(key, parser);
+    }
+
+    private Key getSigningKey() {
+        return signingKeys.key();
+    }
 
-        String effectiveSecret = (envSecret != null && !envSecret.isEmpty()) ? envSecret : SECRET_KEY;
-        return Keys.hmacShaKeyFor(effectiveSecret.getBytes(StandardCharsets.UTF_8));
+    public long getJwtExpirationMs() {
+        return effectiveExpirationMs;
     }
 
-    private long getJwtExpirationMs() {
+    private long resolveJwtExpirationMs() {
         String envExpiration = System.getenv("JWT_EXPIRATION_MS");
         if (envExpiration != null && !envExpiration.isEmpty()) {
             try {
@@ -56,6 +84,27 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
+    /**
+     * Role carried by the token, USER for tokens issued before the claim existed.
+     */
+    public String extractRole(Claims claims) {
+        String role = claims.get("role", String.class);
+        return role != null ? role : "USER";
+    }
+
+    /**
+     * Token version the token was issued with, 0 for tokens issued before the claim existed.
+     */
+    public int extractTokenVersion(Claims claims) {
+        Number n = claims.get("ver", Number.class);
+        return n == null ? 0 : n.intValue();
+    }
+
+    public Long extractUserId(Claims claims) {
+        Number n = claims.get("uid", Number.class);
+        return n == null ? null : n.longValue();
+    }
+
     public Long extractUserId(String token) {
         try {
             Number n = extractClaim(token, claims -> claims.get("uid", Number.class));
@@ -65,20 +114,28 @@ public class JwtUtil {
         }
     }
 
-    private Claims extractAllClaims(String token) {
+    /**
+     * Verify the token signature and expiry and return its claims, parsing it once so
+     * that every later check can share the result.
+     * Returns null when the token is invalid or expired.
+     */
+    public Claims parseClaims(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-        } catch (JwtException ex) {
-            throw ex; // let caller handle invalid/expired tokens
+            return extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException ex) {
+            return null;
         }
     }
 
-    private Boolean isTokenExpired(String token) {
-        Date exp = extractExpiration(token);
+    private Claims extractAllClaims(String token) {
+        // let caller handle invalid/expired tokens
+        return signingKeys.parser()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private Boolean isTokenExpired(Claims claims) {
+        Date exp = claims.getExpiration();
         return exp != null && exp.before(new Date());
     }
 
@@ -90,10 +147,26 @@ public class JwtUtil {
      * Generate a token containing the username (subject) and the user id as a claim `uid`.
      */
     public String generateToken(UserDetails userDetails, Long userId) {
+        return generateToken(userDetails, userId, null);
+    }
+
+    public String generateToken(UserDetails userDetails, Long userId, String role) {
+        return generateToken(userDetails, userId, role, 0);
+    }
+
+    /**
+     * Generate a token with the user id (`uid`), role (`role`) and token version
+     * (`ver`) claims, enough to authenticate later requests without loading the user.
+     */
+    public String generateToken(UserDetails userDetails, Long userId, String role, int tokenVersion) {
         Map<String, Object> claims = new HashMap<>();
         if (userId != null) {
             claims.put("uid", userId);
         }
+        if (role != null) {
+            claims.put("role", role);
+        }
+        claims.put("ver", tokenVersion);
         return createToken(claims, userDetails.getUsername());
     }
 
@@ -119,11 +192,15 @@ public class JwtUtil {
     }
 
     public Boolean validateToken(String token, UserDetails userDetails) {
-        try {
-            final String username = extractUsername(token);
-            return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-        } catch (JwtException | IllegalArgumentException ex) {
-            return false;
-        }
+        Claims claims = parseClaims(token);
+        return claims != null && validateToken(claims, userDetails);
+    }
+
+    /**
+     * Check already parsed claims against the user, without parsing the token again.
+     */
+    public Boolean validateToken(Claims claims, UserDetails userDetails) {
+        final String username = claims.getSubject();
+        return (username != null && username.equals(userDetails.getUsername()) && !isTokenExpired(claims));
     }
 }
\ No newline at end of file
@@ -0,0 +1,348 @@
+package com.greglmx.wishly.util;
+
+import java.util.Currency;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Single-pass price tokenizer for scraped pages. Reads amounts written with
+ * thousands and decimal separators in either convention ("1,299.99", "1.299,99",
+ * "1 299,99", "1'299.99") and tags them with the ISO 4217 currency given by an
+ * adjacent symbol or code, without regexes or intermediate strings.
+ * Machine-readable fields ({@link #parse}) and page text ({@link #find}) differ
+ * only in how a lone separator followed by three digits is read.
+ */
+public final class PriceParser {
+
+    private static final Set<String> ISO_CODES = Currency.getAvailableCurrencies().stream()
+            .map(Currency::getCurrencyCode)
+            .collect(Collectors.toUnmodifiableSet());
+
+    // codes trusted in free text, where any upper-case word could look like an ISO code
+    private static final Set<String> TEXT_CODES = Set.of("EUR", "USD", "GBP", "CHF", "CAD", "AUD", "JPY", "INR");
+
+    private static final int MAX_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private PriceParser() {
+    }
+
+    /**
+     * Amount and ISO 4217 currency code; the currency is null when the source gives none.
+     */
+    public record Price(double amount, String currency) {
+
+        public Price withCurrency(String currency) {
+            if (currency == null || currency.isBlank()) {
+                return this;
+            }
+            return new Price(amount, currency.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /**
+     * Parse a machine-readable field holding a single price, such as a meta content
+     * or a JSON-LD offer price: "12.5", "19.990", "EUR 1.299,00", "$1,299.99".
+     * A separator that appears once is always the decimal separator there, so
+     * "12.500" is 12.5, not 12500.
+     * Returns null when the value holds no number.
+     */
+    public static Price parse(CharSequence value) {
+        if (value == null) {
+            return null;
+        }
+        int length = value.length();
+        int start = -1;
+        for (int i = 0; i < length; i++) {
+            if (isDigit(value.charAt(i))) {
+                start = i;
+                break;
+            }
+        }
+        if (start < 0) {
+            return null;
+        }
+        int end = numberEnd(value, start);
+        Double amount = amount(value, start, end, false);
+        if (amount == null) {
+            return null;
+        }
+        String currency = currencyBefore(value, start, ISO_CODES);
+        if (currency == null) {
+            currency = currencyAfter(value, end, ISO_CODES);
+        }
+        return new Price(amount, currency);
+    }
+
+    /**
+     * Find the most likely price in page text, in order of preference:
+     * 1. the first amount preceded by a currency ("€ 99.99", "EUR 99,99")
+     * 2. the first amount followed by a currency ("99,99 €")
+     * 3. the first bare amount with two decimals ("99.99")
+     * Amounts next to a currency need one or two decimals or grouped thousands
+     * ("€1,299", "12.500 €"), so that quantities, years or "€5 off" banners are not
+     * taken for prices.
+     * Returns null when no candidate is found.
+     */
+    public static Price find(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        Price suffixed = null;
+        Price bare = null;
+        int length = text.length();
+        int i = 0;
+        while (i < length) {
+            if (!isDigit(text.charAt(i))) {
+                i++;
+                continue;
+            }
+            int start = i;
+            int end = numberEnd(text, start);
+            i = end;
+
+            String prefix = currencyBefore(text, start, TEXT_CODES);
+            if (prefix != null) {
+                Double amount = amount(text, start, end, true);
+                if (amount != null) {
+                    return new Price(amount, prefix);
+                }
+                continue;
+            }
+            if (suffixed == null) {
+                String suffix = currencyAfter(text, end, TEXT_CODES);
+                if (suffix != null) {
+                    Double amount = amount(text, start, end, true);
+                    if (amount != null) {
+                        suffixed = new Price(amount, suffix);
+                    }
+                    continue;
+                }
+            }
+            if (bare == null && decimalDigits(text, start, end) == 2
+                    && isWordBoundary(text, start - 1) && isWordBoundary(text, end)) {
+                Double amount = amount(text, start, end, true);
+                if (amount != null) {
+                    bare = new Price(amount, null);
+                }
+            }
+        }
+        return suffixed != null ? suffixed : bare;
+    }
+
+    /**
+     * End (exclusive) of the number starting at {@code start}: digits, plus
+     * separators and no-break spaces that are directly followed by a digit. A plain
+     * space only groups thousands ("1 299,99"): it must follow at most three digits
+     * and be followed by exactly three.
+     */
+    private static int numberEnd(CharSequence s, int start) {
+        int i = start;
+        int length = s.length();
+        int groupDigits = 0;
+        while (i < length) {
+            char c = s.charAt(i);
+            if (isDigit(c)) {
+                groupDigits++;
+                i++;
+            } else if ((isSeparator(c) || isGroupingSpace(c)) && i + 1 < length && isDigit(s.charAt(i + 1))) {
+                groupDigits = 0;
+                i++;
+            } else if (c == ' ' && groupDigits <= 3 && isThousandsGroup(s, i + 1)) {
+                groupDigits = 0;
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private static boolean isThousandsGroup(CharSequence s, int start) {
+        int length = s.length();
+        if (start + 3 > length) {
+            return false;
+        }
+        for (int i = start; i < start + 3; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return start + 3 == length || !isDigit(s.charAt(start + 3));
+    }
+
+    /**
+     * Digits after the last '.' or ',' of the number, or 0 when it has none.
+     */
+    private static int decimalDigits(CharSequence s, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            char c = s.charAt(i);
+            if (c == '.' || c == ',') {
+                return end - i - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Value of the number in [start, end). The last '.' or ',' is the decimal
+     * separator, unless it repeats ("1.299.000"). Every other separator groups
+     * thousands.
+     * In page text ({@code textHeuristics}), a lone separator followed by exactly
+     * three digits ("1,299", "12.500") groups thousands instead, and a number with
+     * neither one or two decimals nor grouped thousands gives null.
+     */
+    private static Double amount(CharSequence s, int start, int end, boolean textHeuristics) {
+        int lastSep = -1;
+        int dots = 0;
+        int commas = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (c == '.') {
+                dots++;
+                lastSep = i;
+            } else if (c == ',') {
+                commas++;
+                lastSep = i;
+            }
+        }
+
+        int decimalSep = lastSep;
+        if (lastSep >= 0) {
+            char sep = s.charAt(lastSep);
+            boolean single = sep == '.' ? dots == 1 : commas == 1;
+            boolean otherKind = sep == '.' ? commas > 0 : dots > 0;
+            if (!single && !otherKind) {
+                decimalSep = -1;
+            } else if (textHeuristics && single && !otherKind && end - lastSep - 1 == 3
+                    && !isZeroIntegerPart(s, start, lastSep)) {
+                decimalSep = -1;
+            }
+        }
+        if (textHeuristics) {
+            int decimals = decimalSep >= 0 ? end - decimalSep - 1 : 0;
+            boolean grouped = decimalSep < 0 && !isAllDigits(s, start, end);
+            if (!grouped && (decimals < 1 || decimals > 2)) {
+                return null;
+            }
+        }
+
+        long mantissa = 0;
+        int scale = 0;
+        int digits = 0;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) {
+                continue;
+            }
+            if (++digits > MAX_DIGITS) {
+                return null;
+            }
+            mantissa = mantissa * 10 + (c - '0');
+            if (decimalSep >= 0 && i > decimalSep) {
+                scale++;
+            }
+        }
+        // a single division keeps the result correctly rounded
+        return mantissa / POWERS_OF_TEN[scale];
+    }
+
+    private static boolean isAllDigits(CharSequence s, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZeroIntegerPart(CharSequence s, int start, int sep) {
+        for (int i = start; i < sep; i++) {
+            if (s.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String currencyBefore(CharSequence s, int index, Set<String> codes) {
+        int i = index - 1;
+        while (i >= 0 && Character.isWhitespace(s.charAt(i))) {
+            i--;
+        }
+        if (i < 0) {
+            return null;
+        }
+        String symbol = symbolCurrency(s.charAt(i));
+        if (symbol != null) {
+            return symbol;
+        }
+        return i >= 2 && isWordBoundary(s, i - 3) ? code(s, i - 2, codes) : null;
+    }
+
+    private static String currencyAfter(CharSequence s, int index, Set<String> codes) {
+        int i = index;
+        int length = s.length();
+        while (i < length && Character.isWhitespace(s.charAt(i))) {
+            i++;
+        }
+        if (i >= length) {
+            return null;
+        }
+        String symbol = symbolCurrency(s.charAt(i));
+        if (symbol != null) {
+            return symbol;
+        }
+        return i + 3 <= length && isWordBoundary(s, i + 3) ? code(s, i, codes) : null;
+    }
+
+    // ISO codes are only recognised in upper case: "all", "top" or "try" are words, not ALL, TOP or TRY
+    private static String code(CharSequence s, int start, Set<String> codes) {
+        char a = s.charAt(start);
+        char b = s.charAt(start + 1);
+        char c = s.charAt(start + 2);
+        if (!isAsciiUpper(a) || !isAsciiUpper(b) || !isAsciiUpper(c)) {
+            return null;
+        }
+        String code = new String(new char[]{a, b, c});
+        return codes.contains(code) ? code : null;
+    }
+
+    private static String symbolCurrency(char c) {
+        return switch (c) {
+            case '€' -> "EUR";
+            case '$' -> "USD";
+            case '£' -> "GBP";
+            case '¥' -> "JPY";
+            case '₹' -> "INR";
+            default -> null;
+        };
+    }
+
+    private static boolean isWordBoundary(CharSequence s, int index) {
+        if (index < 0 || index >= s.length()) {
+            return true;
+        }
+        char c = s.charAt(index);
+        return !Character.isLetterOrDigit(c) && c != '_';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == ',' || c == '\'';
+    }
+
+    private static boolean isGroupingSpace(char c) {
+        return c == '\u00A0' || c == '\u202F';
+    }
+}
@@ -0,0 +1,95 @@
+package com.greglmx.wishly.util;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Builds a canonical form of product URLs so that links differing only by
+ * tracking parameters, host case, default port or fragment share the same key.
+ */
+public final class UrlCanonicalizer {
+
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "fbclid", "gclid", "gclsrc", "dclid", "msclkid", "yclid",
+            "igshid", "mc_cid", "mc_eid", "_ga", "_gl"
+    );
+
+    private UrlCanonicalizer() {
+    }
+
+    /**
+     * Canonicalize an http(s) URL:
+     * 1. lower-case scheme and host, drop default ports and fragment
+     * 2. strip tracking params (utm_*, fbclid, gclid, ...)
+     * 3. sort the remaining query params
+     */
+    public static String canonicalize(String url) {
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("Invalid URL format: " + url);
+        }
+        try {
+            URI uri = new URI(url.trim());
+            String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : null;
+            String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : null;
+            if (scheme == null || host == null || (!scheme.equals("http") && !scheme.equals("https"))) {
+                throw new IllegalArgumentException("Invalid URL format: " + url);
+            }
+
+            StringBuilder sb = new StringBuilder(url.length());
+            sb.append(scheme).append("://").append(host);
+            int port = uri.getPort();
+            if (port != -1 && !(port == 80 && scheme.equals("http")) && !(port == 443 && scheme.equals("https"))) {
+                sb.append(':').append(port);
+            }
+            String path = uri.getRawPath();
+            sb.append(path == null || path.isEmpty() ? "/" : path);
+
+            String query = canonicalQuery(uri.getRawQuery());
+            if (!query.isEmpty()) {
+                sb.append('?').append(query);
+            }
+            return sb.toString();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Invalid URL format: " + url);
+        }
+    }
+
+    /**
+     * Extract the lower-cased host of a URL, or null when it has none.
+     */
+    public static String host(String url) {
+        if (url == null) {
+            return null;
+        }
+        try {
+            String host = new URI(url.trim()).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : null;
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private static String canonicalQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return "";
+        }
+        List<String> kept = new ArrayList<>();
+        for (String param : rawQuery.split("&")) {
+            if (param.isEmpty()) {
+                continue;
+            }
+            int eq = param.indexOf('=');
+            String name = (eq >= 0 ? param.substring(0, eq) : param).toLowerCase(Locale.ROOT);
+            if (name.startsWith("utm_") || TRACKING_PARAMS.contains(name)) {
+                continue;
+            }
+            kept.add(param);
+        }
+        kept.sort(null);
+        return String.join("&", kept);
+    }
+}
@@ -0,0 +1,63 @@
+package db.migration;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unique constraints on user email and username: registration relies on them instead
+ * of pre-check queries (duplicates are reported as 409 Conflict).
+ * The schema created by ddl-auto had no such constraint, so an existing database may
+ * hold duplicates, including emails differing only by case or surrounding spaces
+ * (which uk_user_email_normalized in V3 also rejects). They are looked up first and
+ * the migration stops with the list of rows to merge, before any change is made.
+ */
+public class V1_3__unique_user_email_and_username extends BaseJavaMigration {
+
+    private static final int MAX_REPORTED = 20;
+
+    private static final String DUPLICATE_EMAILS =
+            "select lower(trim(email)), count(*), group_concat(id order by id) from `user`"
+                    + " where email is not null group by lower(trim(email)) having count(*) > 1";
+    private static final String DUPLICATE_USERNAMES =
+            "select username, count(*), group_concat(id order by id) from `user`"
+                    + " where username is not null group by username having count(*) > 1";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        List<String> duplicates = new ArrayList<>();
+        duplicates.addAll(findDuplicates(connection, "email", DUPLICATE_EMAILS));
+        duplicates.addAll(findDuplicates(connection, "username", DUPLICATE_USERNAMES));
+        if (!duplicates.isEmpty()) {
+            throw new FlywayException("Cannot add the unique user email/username constraints, duplicate accounts exist:\n  "
+                    + String.join("\n  ", duplicates.subList(0, Math.min(duplicates.size(), MAX_REPORTED)))
+                    + (duplicates.size() > MAX_REPORTED ? "\n  ... and " + (duplicates.size() - MAX_REPORTED) + " more" : "")
+                    + "\nKeep one user per email and username: move wishlist.owner_id of the other ids to it"
+                    + " and delete them. Then run 'flyway repair' (or delete the failed version 1.3 row from"
+                    + " flyway_schema_history) and restart. Nothing was changed by this migration.");
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("alter table `user`"
+                    + " add constraint uk_user_email unique (email),"
+                    + " add constraint uk_user_username unique (username)");
+        }
+    }
+
+    private static List<String> findDuplicates(Connection connection, String column, String sql) throws SQLException {
+        List<String> duplicates = new ArrayList<>();
+        try (Statement statement = connection.createStatement(); ResultSet rs = statement.executeQuery(sql)) {
+            while (rs.next()) {
+                duplicates.add("%s '%s': %d users (ids %s)".formatted(column, rs.getString(1), rs.getInt(2), rs.getString(3)));
+            }
+        }
+        return duplicates;
+    }
+}
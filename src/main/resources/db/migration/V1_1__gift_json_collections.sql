@@ -0,0 +1,19 @@
+-- Gift images and tags as JSON arrays on the gift row instead of join tables.
+
+alter table gift
+    add column images_json text,
+    add column tags_json text;
+
+-- copy the legacy rows; gift_images / gift_tags are no longer mapped and can be
+-- dropped by a later migration once the copy has been checked
+update gift g
+    join (select gift_id, json_arrayagg(images) as images from gift_images group by gift_id) l
+        on l.gift_id = g.id
+set g.images_json = l.images
+where g.images_json is null;
+
+update gift g
+    join (select gift_id, json_arrayagg(tags) as tags from gift_tags group by gift_id) l
+        on l.gift_id = g.id
+set g.tags_json = l.tags
+where g.tags_json is null;
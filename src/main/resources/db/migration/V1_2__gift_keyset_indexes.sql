@@ -0,0 +1,7 @@
+-- keyset pages by creation date compare created_at directly, so it must be set on every row
+update gift set created_at = coalesce(updated_at, current_timestamp(6)) where created_at is null;
+
+-- keyset pages of a wishlist: range scans ordered by id or by creation date;
+-- (wishlist_id, id) also serves every lookup by wishlist_id
+create index idx_gift_wishlist_id on gift (wishlist_id, id);
+create index idx_gift_wishlist_created on gift (wishlist_id, created_at, id);
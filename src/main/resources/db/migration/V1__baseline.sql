@@ -0,0 +1,58 @@
+-- Baseline: the schema as generated by Hibernate (ddl-auto=update) before Flyway took over.
+-- Existing databases are baselined at this version and skip it (spring.flyway.baseline-on-migrate),
+-- so it must stay identical to what they already have; later changes go in later versions.
+
+create table `user` (
+    id bigint not null auto_increment,
+    email varchar(255),
+    password varchar(255),
+    role enum ('ADMIN','USER'),
+    username varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table wishlist (
+    id bigint not null auto_increment,
+    count_gifts integer,
+    created_at datetime(6),
+    description varchar(255),
+    name varchar(255),
+    owner_id bigint,
+    updated_at datetime(6),
+    visibility tinyint,
+    primary key (id)
+) engine=InnoDB;
+
+create table gift (
+    id bigint not null auto_increment,
+    created_at datetime(6),
+    description varchar(255),
+    name varchar(255),
+    price float(53),
+    updated_at datetime(6),
+    url varchar(8048),
+    visibility tinyint,
+    wishlist_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+-- former @ElementCollection tables of Gift.images / Gift.tags
+create table gift_images (
+    gift_id bigint not null,
+    images varchar(255)
+) engine=InnoDB;
+
+create table gift_tags (
+    gift_id bigint not null,
+    tags varchar(255)
+) engine=InnoDB;
+
+alter table gift_images
+    add constraint FKoct7md092aa91w8y5prypu186
+    foreign key (gift_id)
+    references gift (id);
+
+alter table gift_tags
+    add constraint FK3eb4u3ou6hlk4jkr1tv32nmf7
+    foreign key (gift_id)
+    references gift (id);
@@ -0,0 +1,15 @@
+-- Indexes for the repository lookups. Gift lookups by wishlist_id use the
+-- (wishlist_id, id) index from V1.2.
+--
+-- Requires MySQL 8.0.13 or later: the case-insensitive name index below uses a
+-- functional key part, which older servers (and MariaDB) reject with a syntax error.
+
+-- WishlistRepository.findByOwnerId (leftmost prefix) and existsByOwnerIdAndName
+create index idx_wishlist_owner_name on wishlist (owner_id, name);
+
+-- Case-insensitive lookups: Spring Data renders IgnoreCase as upper(column) = upper(?),
+-- which only an index on the same expression can serve.
+-- GiftRepository.existsByWishlistIdAndNameIgnoreCase and findNamesIgnoreCase
+create index idx_gift_wishlist_name_upper on gift (wishlist_id, (upper(name)));
+
+-- Email lookups go through the unique user.email_normalized column (V3), not an index on upper(email).
@@ -0,0 +1,10 @@
+-- Case-insensitive email lookups as exact matches: email_normalized holds the trimmed,
+-- lower-cased email (User.normalizeEmail), written by the entity on insert and update.
+
+alter table `user` add column email_normalized varchar(255);
+
+-- backfill existing rows; emails differing only by case are already rejected by
+-- uk_user_email under the default case-insensitive collation
+update `user` set email_normalized = lower(trim(email)) where email is not null;
+
+alter table `user` add constraint uk_user_email_normalized unique (email_normalized);
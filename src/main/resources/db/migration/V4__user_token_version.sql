@@ -0,0 +1,3 @@
+-- Per-user token version: logout increments it, and tokens issued with an older
+-- version (claim "ver") are rejected. Existing tokens carry no claim and count as 0.
+alter table `user` add column token_version integer not null default 0;
@@ -0,0 +1,45 @@
+package com.greglmx.wishly.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StringListConverterTest {
+
+    private final StringListConverter converter = new StringListConverter();
+
+    @Test
+    void roundTripsValuesThatNeedEscaping() {
+        List<String> values = List.of("https://img/1.jpg", "quote \" and \\ backslash", "accents é €", "");
+
+        String column = converter.convertToDatabaseColumn(values);
+
+        assertThat(converter.convertToEntityAttribute(column)).containsExactlyElementsOf(values);
+    }
+
+    @Test
+    void keepsNullAndEmptyListsApart() {
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(" ")).isNull();
+        assertThat(converter.convertToDatabaseColumn(List.of())).isEqualTo("[]");
+        assertThat(converter.convertToEntityAttribute("[]")).isEmpty();
+    }
+
+    @Test
+    void readsArraysWrittenByTheDatabase() {
+        // spacing as produced by the database JSON functions (JSON_ARRAYAGG)
+        assertThat(converter.convertToEntityAttribute("[\"a.jpg\", \"b.jpg\"]")).containsExactly("a.jpg", "b.jpg");
+    }
+
+    @Test
+    void returnsAMutableList() {
+        List<String> values = converter.convertToEntityAttribute("[\"a\"]");
+
+        values.add("b");
+
+        assertThat(values).containsExactly("a", "b");
+    }
+}
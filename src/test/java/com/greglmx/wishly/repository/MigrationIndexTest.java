@@ -0,0 +1,192 @@
+package com.greglmx.wishly.repository;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.mysql.MySQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Applies the Flyway migrations (V1 to V4) to a real MySQL and checks with EXPLAIN
+ * that the repository lookups are served by the indexes they were written for.
+ * The statements mirror the SQL Hibernate generates for each repository method.
+ * Skipped when no Docker daemon is available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MigrationIndexTest {
+
+    private static final String SCHEMA = "wishly";
+    private static final int USERS = 200;
+    private static final int WISHLISTS = 200;
+    private static final int GIFTS = 4000;
+
+    @Container
+    private static final MySQLContainer MYSQL = new MySQLContainer("mysql:8.0")
+            .withUsername("root")
+            .withPassword("test");
+
+    @BeforeAll
+    static void migrateAndSeed() throws SQLException {
+        flyway(SCHEMA).migrate();
+        try (Connection connection = connect(SCHEMA)) {
+            seed(connection);
+        }
+    }
+
+    @Test
+    void migratesToTheLatestVersion() {
+        assertThat(flyway(SCHEMA).info().current().getVersion().getVersion()).isEqualTo("4");
+    }
+
+    @Test
+    void giftKeysetPagesUseTheWishlistIndexes() throws SQLException {
+        // GiftRepositoryCustomImpl.findPage, sort=createdAt desc
+        assertThat(explainKeys("select g.id from gift g where g.wishlist_id = 7"
+                + " and (g.created_at, g.id) < ('2100-01-01 00:00:00', 9999999)"
+                + " order by g.created_at desc, g.id desc limit 21"))
+                .containsEntry("g", "idx_gift_wishlist_created");
+        // GiftRepositoryCustomImpl.findPage, sort=id
+        assertThat(explainKeys("select g.id from gift g where g.wishlist_id = 7 and g.id > 100"
+                + " order by g.id limit 21"))
+                .containsEntry("g", "idx_gift_wishlist_id");
+        // GiftRepository.findWishlistWithGifts
+        assertThat(explainKeys("select w.visibility, g.id from wishlist w left join gift g on g.wishlist_id = w.id"
+                + " where w.id = 7 order by g.id"))
+                .containsEntry("g", "idx_gift_wishlist_id");
+    }
+
+    @Test
+    void giftNameLookupsUseTheFunctionalIndex() throws SQLException {
+        // GiftRepository.existsByWishlistIdAndNameIgnoreCase
+        assertThat(explainKeys("select g.id from gift g where g.wishlist_id = 7 and upper(g.name) = upper('gift 7') limit 1"))
+                .containsEntry("g", "idx_gift_wishlist_name_upper");
+        // GiftRepository.findNamesIgnoreCase
+        assertThat(explainKeys("select upper(g.name) from gift g where g.wishlist_id = 7"
+                + " and upper(g.name) in ('GIFT 7', 'GIFT 207')"))
+                .containsEntry("g", "idx_gift_wishlist_name_upper");
+    }
+
+    @Test
+    void wishlistOwnerLookupsUseTheOwnerNameIndex() throws SQLException {
+        // WishlistRepository.findByOwnerId
+        assertThat(explainKeys("select w.id from wishlist w where w.owner_id = 3"))
+                .containsEntry("w", "idx_wishlist_owner_name");
+        // WishlistRepository.existsByOwnerIdAndName
+        assertThat(explainKeys("select w.id from wishlist w where w.owner_id = 3 and w.name = 'List 3' limit 1"))
+                .containsEntry("w", "idx_wishlist_owner_name");
+    }
+
+    @Test
+    void emailLookupUsesTheNormalizedUniqueIndex() throws SQLException {
+        // UserRepository.findByEmailNormalized
+        assertThat(explainKeys("select u.id from `user` u where u.email_normalized = 'user7@example.com'"))
+                .containsEntry("u", "uk_user_email_normalized");
+    }
+
+    @Test
+    void duplicateUsersStopTheMigrationBeforeAnyChange() throws SQLException {
+        String schema = "wishly_duplicates";
+        Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .schemas(schema)
+                .locations("classpath:db/migration")
+                .target("1.2")
+                .load()
+                .migrate();
+        try (Connection connection = connect(schema); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("insert into `user` (email, username, password, role) values"
+                    + " ('ann@example.com', 'ann', 'x', 'USER'), (' Ann@Example.com', 'ann2', 'x', 'USER')");
+        }
+
+        assertThatThrownBy(() -> flyway(schema).migrate())
+                .isInstanceOf(FlywayException.class)
+                .hasStackTraceContaining("email 'ann@example.com': 2 users (ids 1,2)");
+        try (Connection connection = connect(schema); Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("show index from `user` where Key_name like 'uk_%'")) {
+            assertThat(rs.next()).isFalse();
+        }
+    }
+
+    private static Flyway flyway(String schema) {
+        return Flyway.configure()
+                .dataSource(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword())
+                .schemas(schema)
+                .locations("classpath:db/migration")
+                .load();
+    }
+
+    private static Connection connect(String schema) throws SQLException {
+        Connection connection = DriverManager.getConnection(MYSQL.getJdbcUrl(), MYSQL.getUsername(), MYSQL.getPassword());
+        connection.setCatalog(schema);
+        return connection;
+    }
+
+    private static void seed(Connection connection) throws SQLException {
+        try (PreparedStatement users = connection.prepareStatement(
+                "insert into `user` (email, email_normalized, username, password, role) values (?, ?, ?, 'x', 'USER')")) {
+            for (int i = 1; i <= USERS; i++) {
+                String email = "user" + i + "@example.com";
+                users.setString(1, email);
+                users.setString(2, email);
+                users.setString(3, email);
+                users.addBatch();
+            }
+            users.executeBatch();
+        }
+        try (PreparedStatement wishlists = connection.prepareStatement(
+                "insert into wishlist (owner_id, name, visibility, count_gifts) values (?, ?, 0, 0)")) {
+            for (int i = 1; i <= WISHLISTS; i++) {
+                wishlists.setLong(1, i % 50 + 1);
+                wishlists.setString(2, "List " + i);
+                wishlists.addBatch();
+            }
+            wishlists.executeBatch();
+        }
+        Instant now = Instant.now();
+        try (PreparedStatement gifts = connection.prepareStatement(
+                "insert into gift (wishlist_id, name, visibility, created_at, updated_at) values (?, ?, 0, ?, ?)")) {
+            for (int i = 1; i <= GIFTS; i++) {
+                Timestamp created = Timestamp.from(now.minusSeconds(i));
+                gifts.setLong(1, i % WISHLISTS + 1);
+                gifts.setString(2, "Gift " + i);
+                gifts.setTimestamp(3, created);
+                gifts.setTimestamp(4, created);
+                gifts.addBatch();
+            }
+            gifts.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze table `user`, wishlist, gift");
+        }
+    }
+
+    /**
+     * EXPLAIN the statement and return the index chosen for each table alias.
+     */
+    private static Map<String, String> explainKeys(String sql) throws SQLException {
+        Map<String, String> keys = new HashMap<>();
+        try (Connection connection = connect(SCHEMA); Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("explain " + sql)) {
+            while (rs.next()) {
+                keys.put(rs.getString("table"), rs.getString("key"));
+            }
+        }
+        return keys;
+    }
+}
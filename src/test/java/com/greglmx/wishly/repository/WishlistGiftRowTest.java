@@ -0,0 +1,45 @@
+package com.greglmx.wishly.repository;
+
+import com.greglmx.wishly.dto.GiftResponse;
+import com.greglmx.wishly.model.Gift;
+import com.greglmx.wishly.model.Wishlist;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WishlistGiftRowTest {
+
+    @Test
+    void giftColumnsMapToTheResponse() {
+        Instant created = Instant.parse("2025-01-02T03:04:05.123456Z");
+        Instant updated = Instant.parse("2025-02-03T04:05:06Z");
+        WishlistGiftRow row = new WishlistGiftRow(Wishlist.Visibility.PUBLIC, 1L, 100L, "Mug", "Red", 12.5,
+                List.of("a.jpg"), List.of("kitchen"), "https://shop.example/mug", Gift.Visibility.PRIVATE, 10L,
+                created, updated);
+
+        GiftResponse gift = row.toGiftResponse();
+
+        assertThat(gift.getId()).isEqualTo(100L);
+        assertThat(gift.getName()).isEqualTo("Mug");
+        assertThat(gift.getDescription()).isEqualTo("Red");
+        assertThat(gift.getPrice()).isEqualTo(12.5);
+        assertThat(gift.getImages()).containsExactly("a.jpg");
+        assertThat(gift.getTags()).containsExactly("kitchen");
+        assertThat(gift.getUrl()).isEqualTo("https://shop.example/mug");
+        assertThat(gift.getVisibility()).isEqualTo(Gift.Visibility.PRIVATE);
+        assertThat(gift.getWishlistId()).isEqualTo(10L);
+        assertThat(gift.getCreatedAt()).isEqualTo(created);
+        assertThat(gift.getUpdatedAt()).isEqualTo(updated);
+    }
+
+    @Test
+    void wishlistWithoutGiftsHasNoGiftResponse() {
+        WishlistGiftRow row = new WishlistGiftRow(Wishlist.Visibility.PRIVATE, 1L, null, null, null, null,
+                null, null, null, null, null, null, null);
+
+        assertThat(row.toGiftResponse()).isNull();
+    }
+}
@@ -0,0 +1,62 @@
+package com.greglmx.wishly.security;
+
+import com.greglmx.wishly.model.User;
+import com.greglmx.wishly.repository.UserRepository;
+import com.greglmx.wishly.repository.UserTokenState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationsTest {
+
+    private UserRepository userRepository;
+    private TokenRevocations revocations;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        revocations = new TokenRevocations(userRepository, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void tokenIssuedRightAfterLogoutIsAccepted() {
+        when(userRepository.findTokenState(1L)).thenReturn(new UserTokenState(0, User.Role.USER));
+        assertThat(revocations.isRevoked(1L, 0, "USER")).isFalse();
+
+        when(userRepository.findTokenState(1L)).thenReturn(new UserTokenState(1, User.Role.USER));
+        revocations.revokeAll(1L);
+
+        verify(userRepository).incrementTokenVersion(1L);
+        assertThat(revocations.isRevoked(1L, 0, "USER")).isTrue();
+        // re-login in the same second gets the new version
+        assertThat(revocations.isRevoked(1L, 1, "USER")).isFalse();
+    }
+
+    @Test
+    void stateIsCachedUntilTheUserChanges() {
+        when(userRepository.findTokenState(1L)).thenReturn(new UserTokenState(0, User.Role.USER));
+        revocations.isRevoked(1L, 0, "USER");
+        revocations.isRevoked(1L, 0, "USER");
+        verify(userRepository, times(1)).findTokenState(1L);
+
+        when(userRepository.findTokenState(1L)).thenReturn(new UserTokenState(0, User.Role.ADMIN));
+        revocations.onUserChanged(new UserChangedEvent(1L, "a@b.c"));
+
+        assertThat(revocations.isRevoked(1L, 0, "USER")).isTrue();
+        assertThat(revocations.isRevoked(1L, 0, "ADMIN")).isFalse();
+    }
+
+    @Test
+    void deletedUserIsRevoked() {
+        when(userRepository.findTokenState(2L)).thenReturn(null);
+
+        assertThat(revocations.isRevoked(2L, 0, "USER")).isTrue();
+    }
+}
@@ -0,0 +1,63 @@
+package com.greglmx.wishly.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPrincipalCacheTest {
+
+    private UserPrincipalCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new UserPrincipalCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void eventWithOnlyTheIdEvictsTheUser() {
+        load("Ann@Example.com", 1L);
+        load("bob@example.com", 2L);
+
+        cache.onUserChanged(new UserChangedEvent(1L, null));
+
+        load("ann@example.com", 1L);
+        load("bob@example.com", 2L);
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void changedEmailEvictsTheEntryCachedUnderTheOldOne() {
+        load("ann@example.com", 1L);
+
+        cache.onUserChanged(new UserChangedEvent(1L, "ann@new.example"));
+
+        load("ann@example.com", 1L);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void userLoadedAgainAfterAnEventIsEvictedByTheNextOne() {
+        load("ann@example.com", 1L);
+        cache.onUserChanged(new UserChangedEvent(1L, null));
+        load("ann@example.com", 1L);
+
+        cache.onUserChanged(new UserChangedEvent(1L, null));
+
+        load("ann@example.com", 1L);
+        assertThat(loads).hasValue(3);
+    }
+
+    private void load(String email, Long id) {
+        cache.get(email, key -> {
+            loads.incrementAndGet();
+            return new UserPrincipal(id, key, "USER");
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.dto.LoginRequest;
+import com.greglmx.wishly.dto.LoginResponse;
+import com.greglmx.wishly.exception.AlreadyExistsException;
+import com.greglmx.wishly.model.User;
+import com.greglmx.wishly.repository.UserRepository;
+import com.greglmx.wishly.security.UserPrincipal;
+import com.greglmx.wishly.security.UserPrincipalCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Counts the SQL statements Hibernate prepares for a registration and a login,
+ * against a real (H2) datasource: each must touch the user table exactly once.
+ * Also checks that the bulk updates of logout and password upgrades evict the
+ * cached principal.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class AuthServiceTest {
+
+    @Autowired
+    private AuthService authService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userPrincipalCache.invalidateAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void registerIssuesASingleInsert() {
+        statistics.clear();
+
+        LoginResponse response = authService.register(newUser("ann@example.com"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(response.getToken()).isNotBlank();
+        assertThat(response.getUser().getId()).isNotNull();
+    }
+
+    @Test
+    void duplicateRegistrationIsRejectedByTheUniqueConstraint() {
+        authService.register(newUser("ann@example.com"));
+        statistics.clear();
+
+        assertThatThrownBy(() -> authService.register(newUser(" Ann@Example.com")))
+                .isInstanceOf(AlreadyExistsException.class);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(userRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void loginReadsTheUserRowOnce() {
+        Long id = authService.register(newUser("ann@example.com")).getUser().getId();
+        statistics.clear();
+
+        LoginResponse response = authService.login(loginRequest(" ANN@example.com", "secret123"));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(response.getToken()).isNotBlank();
+        assertThat(response.getUser().getId()).isEqualTo(id);
+    }
+
+    @Test
+    void logoutAndPasswordUpgradeEvictTheCachedPrincipal() {
+        Long id = authService.register(newUser("ann@example.com")).getUser().getId();
+        userService.loadPrincipalByEmail("ann@example.com");
+        statistics.clear();
+        userService.loadPrincipalByEmail("ann@example.com");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        authService.logout(id);
+        statistics.clear();
+        userService.loadPrincipalByEmail("ann@example.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        UserPrincipal principal = (UserPrincipal) userService.loadUserByUsername("ann@example.com");
+        userService.updatePassword(principal, "{noop}rehashed");
+        statistics.clear();
+        userService.loadPrincipalByEmail("ann@example.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static User newUser(String email) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword("secret123");
+        return user;
+    }
+
+    private static LoginRequest loginRequest(String email, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setEmail(email);
+        request.setPassword(password);
+        return request;
+    }
+}
@@ -0,0 +1,109 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.WishlyApplication;
+import com.greglmx.wishly.dto.BulkGiftRequest;
+import com.greglmx.wishly.dto.BulkGiftResponse;
+import com.greglmx.wishly.dto.CreateGiftRequest;
+import com.greglmx.wishly.model.Gift;
+import com.greglmx.wishly.model.Wishlist;
+import com.greglmx.wishly.repository.WishlistRepository;
+import com.greglmx.wishly.security.UserPrincipal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importing 1,000 gifts into an empty wishlist: one {@link GiftService#create} per gift,
+ * as the import did through {@code POST /wishlist/{id}/gifts}, against a single
+ * {@link GiftService#bulk} call. Each invocation imports into a fresh wishlist.
+ * Runs on the in-memory H2 database of the test profile, so the time includes no
+ * network round trip; per-statement latency makes the gap wider on MySQL.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=GiftBulkImportBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class GiftBulkImportBenchmark {
+
+    private static final long OWNER_ID = 1L;
+    private static final int GIFTS = 1000;
+
+    private ConfigurableApplicationContext context;
+    private GiftService giftService;
+    private WishlistRepository wishlistRepository;
+    private List<CreateGiftRequest> items;
+    private Long wishlistId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(WishlyApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties("spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=warn")
+                .run();
+        giftService = context.getBean(GiftService.class);
+        wishlistRepository = context.getBean(WishlistRepository.class);
+        items = new ArrayList<>(GIFTS);
+        for (int i = 0; i < GIFTS; i++) {
+            CreateGiftRequest item = new CreateGiftRequest();
+            item.setName("Gift " + i);
+            item.setDescription("Description of gift " + i);
+            item.setPrice(10.0 + i);
+            item.setUrl("https://shop.example/p/" + i);
+            item.setImages(List.of("https://img.example/" + i + ".jpg"));
+            item.setTags(List.of("imported"));
+            item.setVisibility(Gift.Visibility.PUBLIC);
+            items.add(item);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void newWishlist() {
+        Wishlist wishlist = new Wishlist();
+        wishlist.setName("Import");
+        wishlist.setOwnerId(OWNER_ID);
+        wishlist.setVisibility(Wishlist.Visibility.PUBLIC);
+        wishlist.setCountGifts(0);
+        wishlistId = wishlistRepository.save(wishlist).getId();
+        UserPrincipal principal = new UserPrincipal(OWNER_ID, "owner@example.com", "USER");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public int oneRequestPerGift() {
+        for (CreateGiftRequest item : items) {
+            giftService.create(wishlistId, item);
+        }
+        return items.size();
+    }
+
+    @Benchmark
+    public BulkGiftResponse bulkImport() {
+        BulkGiftRequest request = new BulkGiftRequest();
+        request.setCreate(items);
+        return giftService.bulk(wishlistId, request);
+    }
+}
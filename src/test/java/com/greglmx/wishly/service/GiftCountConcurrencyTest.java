@@ -0,0 +1,129 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.dto.CreateGiftRequest;
+import com.greglmx.wishly.model.Gift;
+import com.greglmx.wishly.model.Wishlist;
+import com.greglmx.wishly.repository.WishlistRepository;
+import com.greglmx.wishly.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hammers gift creation and deletion on one wishlist from many threads against a
+ * real database, then checks that no counter update was lost.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class GiftCountConcurrencyTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final int THREADS = 16;
+    private static final int INITIAL_GIFTS = 80;
+    private static final int CREATES = 200;
+
+    @Autowired
+    private GiftService giftService;
+    @Autowired
+    private WishlistRepository wishlistRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void parallelCreatesAndDeletesKeepTheCounterExact() throws Exception {
+        Wishlist wishlist = new Wishlist();
+        wishlist.setName("Concurrent");
+        wishlist.setOwnerId(OWNER_ID);
+        wishlist.setVisibility(Wishlist.Visibility.PUBLIC);
+        wishlist.setCountGifts(0);
+        Long wishlistId = wishlistRepository.save(wishlist).getId();
+
+        authenticate();
+        List<Long> initialIds = new ArrayList<>();
+        for (int i = 0; i < INITIAL_GIFTS; i++) {
+            initialIds.add(giftService.create(wishlistId, createRequest("initial-" + i)).getId());
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < CREATES; i++) {
+            String name = "created-" + i;
+            tasks.add(() -> {
+                giftService.create(wishlistId, createRequest(name));
+                return null;
+            });
+        }
+        for (Long giftId : initialIds) {
+            tasks.add(() -> {
+                giftService.delete(giftId);
+                return null;
+            });
+        }
+        runConcurrently(tasks);
+
+        Integer counter = jdbcTemplate.queryForObject(
+                "select count_gifts from wishlist where id = ?", Integer.class, wishlistId);
+        Integer actual = jdbcTemplate.queryForObject(
+                "select count(*) from gift where wishlist_id = ?", Integer.class, wishlistId);
+        assertThat(actual).isEqualTo(CREATES);
+        assertThat(counter).isEqualTo(actual);
+    }
+
+    private static void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> futures = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    authenticate();
+                    try {
+                        return task.call();
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Void> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static CreateGiftRequest createRequest(String name) {
+        CreateGiftRequest request = new CreateGiftRequest();
+        request.setName(name);
+        request.setVisibility(Gift.Visibility.PUBLIC);
+        return request;
+    }
+
+    private static void authenticate() {
+        UserPrincipal principal = new UserPrincipal(OWNER_ID, "owner@example.com", "USER");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,85 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.dto.GiftResponse;
+import com.greglmx.wishly.repository.GiftRepositoryCustom.Keyset;
+import com.greglmx.wishly.repository.GiftRepositoryCustom.SortKey;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GiftCursorTest {
+
+    @Test
+    void roundTripsEachSortKey() {
+        GiftResponse last = gift(42L, 19.99, Instant.parse("2025-12-01T10:15:30.123456Z"));
+
+        assertThat(roundTrip(SortKey.ID, false, last)).isEqualTo(new Keyset(null, 42L));
+        assertThat(roundTrip(SortKey.CREATED_AT, true, last))
+                .isEqualTo(new Keyset(Instant.parse("2025-12-01T10:15:30.123456Z"), 42L));
+        assertThat(roundTrip(SortKey.PRICE, false, last)).isEqualTo(new Keyset(19.99, 42L));
+    }
+
+    @Test
+    void keepsGiftsWithoutPriceInThePriceCursor() {
+        GiftResponse last = gift(7L, null, Instant.now());
+
+        assertThat(roundTrip(SortKey.PRICE, true, last)).isEqualTo(new Keyset(null, 7L));
+    }
+
+    @Test
+    void isUrlSafe() {
+        String cursor = GiftCursor.encode(SortKey.CREATED_AT, false, gift(1L, null, Instant.now()));
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsCursorOfAnotherSortOrDirection() {
+        String cursor = GiftCursor.encode(SortKey.PRICE, false, gift(1L, 5.0, Instant.now()));
+
+        assertThatThrownBy(() -> GiftCursor.decode(cursor, SortKey.ID, false))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GiftCursor.decode(cursor, SortKey.PRICE, true))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsCreatedAtCursorWithoutDate() {
+        String cursor = encodeRaw("CREATED_AT|asc|3");
+
+        assertThatThrownBy(() -> GiftCursor.decode(cursor, SortKey.CREATED_AT, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        for (String cursor : new String[]{"not base64 !", encodeRaw("ID|asc"), encodeRaw("ID|asc|x"),
+                encodeRaw("ID|asc|1|2"), encodeRaw("PRICE|asc|1|cheap")}) {
+            assertThatThrownBy(() -> GiftCursor.decode(cursor, SortKey.ID, false))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+        assertThatThrownBy(() -> GiftCursor.decode(encodeRaw("PRICE|asc|1|cheap"), SortKey.PRICE, false))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Keyset roundTrip(SortKey sortKey, boolean descending, GiftResponse last) {
+        return GiftCursor.decode(GiftCursor.encode(sortKey, descending, last), sortKey, descending);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static GiftResponse gift(Long id, Double price, Instant createdAt) {
+        GiftResponse gift = new GiftResponse();
+        gift.setId(id);
+        gift.setPrice(price);
+        gift.setCreatedAt(createdAt);
+        return gift;
+    }
+}
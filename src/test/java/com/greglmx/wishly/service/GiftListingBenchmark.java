@@ -0,0 +1,119 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.WishlyApplication;
+import com.greglmx.wishly.dto.GiftResponse;
+import com.greglmx.wishly.model.Gift;
+import com.greglmx.wishly.model.Wishlist;
+import com.greglmx.wishly.repository.GiftRepository;
+import com.greglmx.wishly.repository.WishlistRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing a public wishlist of {@code gifts} gifts, each with two images and two tags.
+ * Entity hydration is the listing before the read model: Gift entities loaded into a
+ * persistence context (with their dirty-checking snapshots, as under open-in-view),
+ * then copied field by field into responses. The projection is
+ * {@link GiftService#listByWishlist}, one query mapped straight into rows.
+ * Runs on the in-memory H2 database of the test profile, so the time includes no
+ * network round trip; the allocation figures ({@code -prof gc}) carry over to MySQL.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="GiftListingBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GiftListingBenchmark {
+
+    @Param({"100", "1000"})
+    int gifts;
+
+    private ConfigurableApplicationContext context;
+    private GiftService giftService;
+    private GiftRepository giftRepository;
+    private TransactionTemplate transactionTemplate;
+    private Long wishlistId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(WishlyApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("h2")
+                .properties("spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=warn")
+                .run();
+        giftService = context.getBean(GiftService.class);
+        giftRepository = context.getBean(GiftRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        Wishlist wishlist = new Wishlist();
+        wishlist.setName("Benchmark");
+        wishlist.setOwnerId(1L);
+        wishlist.setVisibility(Wishlist.Visibility.PUBLIC);
+        wishlistId = context.getBean(WishlistRepository.class).save(wishlist).getId();
+        List<Gift> batch = new ArrayList<>(gifts);
+        for (int i = 0; i < gifts; i++) {
+            Gift gift = new Gift();
+            gift.setName("Gift " + i);
+            gift.setDescription("Description of gift " + i);
+            gift.setPrice(10.0 + i);
+            gift.setUrl("https://shop.example/p/" + i);
+            gift.setWishlistId(wishlistId);
+            gift.setVisibility(Gift.Visibility.PUBLIC);
+            gift.setImages(List.of("https://img.example/" + i + "-a.jpg", "https://img.example/" + i + "-b.jpg"));
+            gift.setTags(List.of("tag-" + i, "common"));
+            batch.add(gift);
+        }
+        giftRepository.saveAll(batch);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<GiftResponse> entityHydration() {
+        return transactionTemplate.execute(status -> {
+            List<GiftResponse> responses = new ArrayList<>();
+            for (Gift gift : giftRepository.findByWishlistId(wishlistId)) {
+                responses.add(legacyToResponse(gift));
+            }
+            return responses;
+        });
+    }
+
+    @Benchmark
+    public List<GiftResponse> projection() {
+        return giftService.listByWishlist(wishlistId);
+    }
+
+    // GiftService.toResponse before the read model
+    private static GiftResponse legacyToResponse(Gift gift) {
+        GiftResponse r = new GiftResponse();
+        r.setId(gift.getId());
+        r.setName(gift.getName());
+        r.setDescription(gift.getDescription());
+        r.setPrice(gift.getPrice());
+        r.setImages(gift.getImages());
+        r.setTags(gift.getTags());
+        r.setUrl(gift.getUrl());
+        r.setVisibility(gift.getVisibility());
+        r.setWishlistId(gift.getWishlistId());
+        return r;
+    }
+}
@@ -0,0 +1,68 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.dto.GiftResponse;
+import com.greglmx.wishly.model.Gift;
+import com.greglmx.wishly.model.Wishlist;
+import com.greglmx.wishly.validator.GiftValidator;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing a wishlist must cost a constant number of SQL statements, whatever the
+ * number of gifts and of images and tags per gift.
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({GiftService.class, GiftValidator.class})
+class GiftServiceListingTest {
+
+    @Autowired
+    private GiftService giftService;
+    @Autowired
+    private EntityManager entityManager;
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 200})
+    void listingIssuesOneStatementWhateverTheNumberOfGifts(int giftCount) {
+        Wishlist wishlist = new Wishlist();
+        wishlist.setName("Birthday");
+        wishlist.setOwnerId(1L);
+        wishlist.setVisibility(Wishlist.Visibility.PUBLIC);
+        entityManager.persist(wishlist);
+        for (int i = 0; i < giftCount; i++) {
+            Gift gift = new Gift();
+            gift.setName("Gift " + i);
+            gift.setWishlistId(wishlist.getId());
+            gift.setVisibility(Gift.Visibility.PUBLIC);
+            gift.setImages(List.of("https://img.example/" + i + "-a.jpg", "https://img.example/" + i + "-b.jpg"));
+            gift.setTags(List.of("tag-" + i, "common"));
+            entityManager.persist(gift);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.unwrap(Session.class).getSessionFactory().getStatistics();
+        statistics.clear();
+
+        List<GiftResponse> gifts = giftService.listByWishlist(wishlist.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(gifts).hasSize(giftCount);
+        assertThat(gifts).allSatisfy(gift -> {
+            assertThat(gift.getImages()).hasSize(2);
+            assertThat(gift.getTags()).contains("common");
+        });
+    }
+}
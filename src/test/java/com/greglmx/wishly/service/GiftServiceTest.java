@@ -0,0 +1,264 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.dto.BulkGiftRequest;
+import com.greglmx.wishly.dto.BulkGiftResponse;
+import com.greglmx.wishly.dto.BulkGiftUpdate;
+import com.greglmx.wishly.dto.CreateGiftRequest;
+import com.greglmx.wishly.dto.GiftResponse;
+import com.greglmx.wishly.exception.NotFoundException;
+import com.greglmx.wishly.model.Gift;
+import com.greglmx.wishly.model.Wishlist;
+import com.greglmx.wishly.repository.GiftRepository;
+import com.greglmx.wishly.repository.WishlistGiftRow;
+import com.greglmx.wishly.repository.WishlistRepository;
+import com.greglmx.wishly.security.UserPrincipal;
+import com.greglmx.wishly.validator.GiftValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class GiftServiceTest {
+
+    private static final long OWNER_ID = 1L;
+    private static final long WISHLIST_ID = 10L;
+
+    private GiftRepository giftRepository;
+    private WishlistRepository wishlistRepository;
+    private GiftService giftService;
+
+    @BeforeEach
+    void setUp() {
+        giftRepository = mock(GiftRepository.class);
+        wishlistRepository = mock(WishlistRepository.class);
+        giftService = new GiftService(giftRepository, wishlistRepository, new GiftValidator(), 20, 100);
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void listingAnEmptyWishlistReturnsNoGifts() {
+        when(giftRepository.findWishlistWithGifts(WISHLIST_ID)).thenReturn(List.of(
+                giftRow(Wishlist.Visibility.PUBLIC, null, null, null, null)));
+
+        assertThat(giftService.listByWishlist(WISHLIST_ID)).isEmpty();
+    }
+
+    @Test
+    void privateWishlistIsListedOnlyForItsOwner() {
+        when(giftRepository.findWishlistWithGifts(WISHLIST_ID)).thenReturn(List.of(
+                giftRow(Wishlist.Visibility.PRIVATE, 100L, "Mug", null, null)));
+
+        assertThatThrownBy(() -> giftService.listByWishlist(WISHLIST_ID)).isInstanceOf(NotFoundException.class);
+
+        authenticate(OWNER_ID);
+        assertThat(giftService.listByWishlist(WISHLIST_ID)).hasSize(1);
+    }
+
+    @Test
+    void unknownWishlistIsNotFound() {
+        when(giftRepository.findWishlistWithGifts(WISHLIST_ID)).thenReturn(List.of());
+
+        assertThatThrownBy(() -> giftService.listByWishlist(WISHLIST_ID)).isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void createIncrementsTheCounterInTheDatabase() {
+        authenticate(OWNER_ID);
+        when(wishlistRepository.findById(WISHLIST_ID)).thenReturn(Optional.of(wishlist()));
+        when(giftRepository.save(any(Gift.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        CreateGiftRequest request = new CreateGiftRequest();
+        request.setName("Mug");
+        request.setVisibility(Gift.Visibility.PUBLIC);
+
+        giftService.create(WISHLIST_ID, request);
+
+        verify(wishlistRepository).adjustCountGifts(eq(WISHLIST_ID), eq(1), any(Instant.class));
+        verify(wishlistRepository, never()).save(any());
+    }
+
+    @Test
+    void deleteDecrementsTheCounterInTheDatabase() {
+        authenticate(OWNER_ID);
+        Gift gift = new Gift();
+        gift.setId(100L);
+        gift.setWishlistId(WISHLIST_ID);
+        when(giftRepository.findById(100L)).thenReturn(Optional.of(gift));
+        when(wishlistRepository.findById(WISHLIST_ID)).thenReturn(Optional.of(wishlist()));
+
+        giftService.delete(100L);
+
+        verify(giftRepository).delete(gift);
+        verify(wishlistRepository).adjustCountGifts(eq(WISHLIST_ID), eq(-1), any(Instant.class));
+        verify(wishlistRepository, never()).save(any());
+    }
+
+    @Test
+    void rejectedDeleteLeavesTheCounterAlone() {
+        authenticate(2L);
+        Gift gift = new Gift();
+        gift.setId(100L);
+        gift.setWishlistId(WISHLIST_ID);
+        when(giftRepository.findById(100L)).thenReturn(Optional.of(gift));
+        when(wishlistRepository.findById(WISHLIST_ID)).thenReturn(Optional.of(wishlist()));
+
+        assertThatThrownBy(() -> giftService.delete(100L)).isInstanceOf(SecurityException.class);
+
+        verify(wishlistRepository, never()).adjustCountGifts(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void bulkWritesEachKindOnceAndAdjustsTheCounterOnce() {
+        authenticate(OWNER_ID);
+        when(wishlistRepository.findById(WISHLIST_ID)).thenReturn(Optional.of(wishlist()));
+        when(giftRepository.deleteByWishlistIdAndIdIn(WISHLIST_ID, Set.of(200L))).thenReturn(1);
+        Gift existing = new Gift();
+        existing.setId(100L);
+        existing.setName("Mug");
+        existing.setWishlistId(WISHLIST_ID);
+        when(giftRepository.findAllById(List.of(100L))).thenReturn(List.of(existing));
+        when(giftRepository.findNamesIgnoreCase(WISHLIST_ID, Set.of("BOOK", "LAMP"))).thenReturn(List.of());
+        BulkGiftRequest request = bulkRequest(List.of(createItem("Book"), createItem("Lamp")),
+                List.of(updateItem(100L, "Big mug")), List.of(200L));
+
+        BulkGiftResponse response = giftService.bulk(WISHLIST_ID, request);
+
+        assertThat(response.getCreated()).extracting(GiftResponse::getName).containsExactly("Book", "Lamp");
+        assertThat(response.getUpdated()).extracting(GiftResponse::getName).containsExactly("Big mug");
+        assertThat(response.getDeleted()).isEqualTo(1);
+        verify(giftRepository).insertAll(argThat(gifts -> gifts.size() == 2));
+        verify(giftRepository).saveAll(any());
+        verify(wishlistRepository).adjustCountGifts(eq(WISHLIST_ID), eq(1), any(Instant.class));
+        verify(giftRepository, never()).save(any());
+    }
+
+    @Test
+    void bulkRejectsDuplicateNamesBeforeInserting() {
+        authenticate(OWNER_ID);
+        when(wishlistRepository.findById(WISHLIST_ID)).thenReturn(Optional.of(wishlist()));
+        BulkGiftRequest request = bulkRequest(List.of(createItem("Book"), createItem("BOOK")), null, null);
+
+        assertThatThrownBy(() -> giftService.bulk(WISHLIST_ID, request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Duplicate gift name");
+
+        verify(giftRepository, never()).insertAll(any());
+        verify(wishlistRepository, never()).adjustCountGifts(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void bulkRejectsNamesAlreadyInTheWishlist() {
+        authenticate(OWNER_ID);
+        when(wishlistRepository.findById(WISHLIST_ID)).thenReturn(Optional.of(wishlist()));
+        when(giftRepository.findNamesIgnoreCase(WISHLIST_ID, Set.of("MUG"))).thenReturn(List.of("MUG"));
+        BulkGiftRequest request = bulkRequest(List.of(createItem("mug")), null, null);
+
+        assertThatThrownBy(() -> giftService.bulk(WISHLIST_ID, request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("already exists");
+
+        verify(giftRepository, never()).insertAll(any());
+    }
+
+    @Test
+    void bulkRejectsAGiftBothUpdatedAndDeleted() {
+        authenticate(OWNER_ID);
+        when(wishlistRepository.findById(WISHLIST_ID)).thenReturn(Optional.of(wishlist()));
+        when(giftRepository.deleteByWishlistIdAndIdIn(WISHLIST_ID, Set.of(100L))).thenReturn(1);
+        BulkGiftRequest request = bulkRequest(null, List.of(updateItem(100L, "Big mug")), List.of(100L));
+
+        assertThatThrownBy(() -> giftService.bulk(WISHLIST_ID, request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("both updated and deleted");
+    }
+
+    @Test
+    void bulkDeleteOfAGiftOutsideTheWishlistIsNotFound() {
+        authenticate(OWNER_ID);
+        when(wishlistRepository.findById(WISHLIST_ID)).thenReturn(Optional.of(wishlist()));
+        when(giftRepository.deleteByWishlistIdAndIdIn(WISHLIST_ID, Set.of(100L, 999L))).thenReturn(1);
+        BulkGiftRequest request = bulkRequest(null, null, List.of(100L, 999L));
+
+        assertThatThrownBy(() -> giftService.bulk(WISHLIST_ID, request)).isInstanceOf(NotFoundException.class);
+
+        verify(wishlistRepository, never()).adjustCountGifts(anyLong(), anyInt(), any());
+    }
+
+    @Test
+    void bulkIsRejectedForOtherUsersBeforeAnyWrite() {
+        authenticate(2L);
+        when(wishlistRepository.findById(WISHLIST_ID)).thenReturn(Optional.of(wishlist()));
+        BulkGiftRequest request = bulkRequest(List.of(createItem("Book")), null, List.of(100L));
+
+        assertThatThrownBy(() -> giftService.bulk(WISHLIST_ID, request)).isInstanceOf(SecurityException.class);
+
+        verifyNoInteractions(giftRepository);
+    }
+
+    private static BulkGiftRequest bulkRequest(List<CreateGiftRequest> create, List<BulkGiftUpdate> update,
+                                               List<Long> delete) {
+        BulkGiftRequest request = new BulkGiftRequest();
+        request.setCreate(create);
+        request.setUpdate(update);
+        request.setDelete(delete);
+        return request;
+    }
+
+    private static CreateGiftRequest createItem(String name) {
+        CreateGiftRequest item = new CreateGiftRequest();
+        item.setName(name);
+        item.setVisibility(Gift.Visibility.PUBLIC);
+        return item;
+    }
+
+    private static BulkGiftUpdate updateItem(Long id, String name) {
+        BulkGiftUpdate item = new BulkGiftUpdate();
+        item.setId(id);
+        item.setName(name);
+        item.setVisibility(Gift.Visibility.PUBLIC);
+        return item;
+    }
+
+    private static Wishlist wishlist() {
+        Wishlist wishlist = new Wishlist();
+        wishlist.setId(WISHLIST_ID);
+        wishlist.setOwnerId(OWNER_ID);
+        wishlist.setVisibility(Wishlist.Visibility.PUBLIC);
+        wishlist.setCountGifts(3);
+        return wishlist;
+    }
+
+    private static WishlistGiftRow giftRow(Wishlist.Visibility wishlistVisibility, Long id, String name,
+                                           List<String> images, List<String> tags) {
+        return new WishlistGiftRow(wishlistVisibility, OWNER_ID, id, name, null, null, images, tags, null,
+                id != null ? Gift.Visibility.PUBLIC : null, id != null ? WISHLIST_ID : null, null, null);
+    }
+
+    private static void authenticate(long userId) {
+        UserPrincipal principal = new UserPrincipal(userId, "user" + userId + "@example.com", "USER");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
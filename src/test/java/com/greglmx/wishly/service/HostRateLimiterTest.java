@@ -0,0 +1,47 @@
+package com.greglmx.wishly.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HostRateLimiterTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void rejectsBudgetsThatCouldNeverGrantAPermit() {
+        assertThatThrownBy(() -> limiter(0, 5, Duration.ofMinutes(10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rate-per-second");
+        assertThatThrownBy(() -> limiter(Double.NaN, 5, Duration.ofMinutes(10)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> limiter(2, 0, Duration.ofMinutes(10)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("burst");
+    }
+
+    @Test
+    void budgetRecreatedAfterEvictionKeepsItsMeters() throws InterruptedException {
+        HostRateLimiter limiter = limiter(1000, 5, Duration.ofMillis(300));
+
+        limiter.acquire("shop.example").close();
+        Thread.sleep(500);
+        // the idle budget is evicted and a new one registers the same meters
+        limiter.acquire("shop.example").close();
+        ForkJoinPool.commonPool().awaitQuiescence(5, TimeUnit.SECONDS);
+
+        assertThat(registry.find("scraper.host.queue.depth").tag("host", "shop.example").gauge()).isNotNull();
+        assertThat(registry.find("scraper.host.throttled").tag("host", "shop.example").counter()).isNotNull();
+    }
+
+    private HostRateLimiter limiter(double ratePerSecond, int burst, Duration idleExpiry) {
+        return new HostRateLimiter(registry, ratePerSecond, burst, 4, Duration.ZERO, 100, idleExpiry);
+    }
+}
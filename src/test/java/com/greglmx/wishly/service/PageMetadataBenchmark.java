@@ -0,0 +1,164 @@
+package com.greglmx.wishly.service;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metadata lookups of one product page: the selector scans the scraper used to run
+ * ({@code selectFirst} per og/twitter/itemprop field, meta price and image selectors
+ * repeated across extractors) against one {@link PageMetadata} traversal followed by
+ * index lookups. Both sides read the same fields, in the order of a page whose
+ * JSON-LD provides the name, description and price; parsing and JSON decoding are
+ * left out as they are identical.
+ * The page is a synthetic retailer layout (head metas, navigation, gallery,
+ * recommendation grid, footer), {@code tiles} setting the size of the grid.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args=PageMetadataBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageMetadataBenchmark {
+
+    @Param({"24", "200"})
+    int tiles;
+
+    private Document document;
+
+    @Setup
+    public void setUp() {
+        document = Jsoup.parse(retailerPage(tiles), "https://shop.example/p/espresso-machine");
+    }
+
+    @Benchmark
+    public void selectorScans(Blackhole bh) {
+        // extractStructuredData
+        bh.consume(document.select("script[type=application/ld+json]"));
+        bh.consume(metaContent("meta[property=product:price:amount]"));
+        bh.consume(metaContent("meta[property=og:price:amount]"));
+        bh.consume(metaContent("meta[name=price]"));
+        bh.consume(metaContent("meta[itemprop=price]"));
+        bh.consume(metaContent("meta[property=og:image:secure_url]"));
+        bh.consume(metaContent("meta[name=twitter:image:src]"));
+        bh.consume(metaContent("meta[itemprop=image]"));
+        bh.consume(linkHref("link[rel=image_src]"));
+        // extractImages
+        bh.consume(metaContent("meta[property=og:image]"));
+        bh.consume(metaContent("meta[property=og:image:secure_url]"));
+        bh.consume(metaContent("meta[name=twitter:image]"));
+        bh.consume(metaContent("meta[name=twitter:image:src]"));
+        bh.consume(metaContent("meta[itemprop=image]"));
+        bh.consume(linkHref("link[rel=image_src]"));
+        bh.consume(document.select("img[src]"));
+        bh.consume(document.select("picture source[srcset]"));
+    }
+
+    @Benchmark
+    public void singlePassIndex(Blackhole bh) {
+        PageMetadata page = PageMetadata.of(document);
+        // extractStructuredData
+        bh.consume(page.jsonLd());
+        bh.consume(page.metaProperty("product:price:amount"));
+        bh.consume(page.metaProperty("og:price:amount"));
+        bh.consume(page.metaName("price"));
+        bh.consume(page.metaItemprop("price"));
+        bh.consume(page.metaProperty("og:image:secure_url"));
+        bh.consume(page.metaName("twitter:image:src"));
+        bh.consume(page.metaItemprop("image"));
+        bh.consume(page.linkHref("image_src"));
+        // extractImages
+        bh.consume(page.metaProperty("og:image"));
+        bh.consume(page.metaProperty("og:image:secure_url"));
+        bh.consume(page.metaName("twitter:image"));
+        bh.consume(page.metaName("twitter:image:src"));
+        bh.consume(page.metaItemprop("image"));
+        bh.consume(page.linkHref("image_src"));
+        bh.consume(page.images());
+        bh.consume(page.pictureSources());
+    }
+
+    private String metaContent(String cssQuery) {
+        Element el = document.selectFirst(cssQuery);
+        if (el == null) {
+            return null;
+        }
+        String value = el.hasAttr("content") ? el.attr("content") : el.attr("value");
+        return value.isBlank() ? null : value.trim();
+    }
+
+    private String linkHref(String cssQuery) {
+        Element el = document.selectFirst(cssQuery);
+        return el == null || el.attr("href").isBlank() ? null : el.attr("href").trim();
+    }
+
+    static String retailerPage(int tiles) {
+        StringBuilder html = new StringBuilder(64 * 1024);
+        html.append("<!doctype html><html lang=\"fr\"><head><meta charset=\"utf-8\">")
+                .append("<title>Machine espresso Barista Pro - Shop</title>")
+                .append("<meta name=\"viewport\" content=\"width=device-width, initial-scale=1\">")
+                .append("<meta name=\"description\" content=\"Machine espresso avec broyeur intégré.\">")
+                .append("<meta property=\"og:type\" content=\"product\">")
+                .append("<meta property=\"og:title\" content=\"Machine espresso Barista Pro\">")
+                .append("<meta property=\"og:description\" content=\"Machine espresso avec broyeur intégré.\">")
+                .append("<meta property=\"og:image\" content=\"https://cdn.shop.example/p/barista-pro/1.jpg\">")
+                .append("<meta property=\"product:price:amount\" content=\"599.99\">")
+                .append("<meta property=\"product:price:currency\" content=\"EUR\">")
+                .append("<meta name=\"twitter:card\" content=\"summary_large_image\">")
+                .append("<meta name=\"twitter:title\" content=\"Machine espresso Barista Pro\">")
+                .append("<meta name=\"twitter:image\" content=\"https://cdn.shop.example/p/barista-pro/1.jpg\">");
+        for (int i = 0; i < 20; i++) {
+            html.append("<meta name=\"tracking-").append(i).append("\" content=\"v").append(i).append("\">");
+            html.append("<link rel=\"preload\" as=\"script\" href=\"/static/chunk-").append(i).append(".js\">");
+        }
+        html.append("<link rel=\"canonical\" href=\"https://shop.example/p/espresso-machine\">")
+                .append("<link rel=\"stylesheet\" href=\"/static/main.css\">")
+                .append("<script type=\"application/ld+json\">{\"@context\":\"https://schema.org\",")
+                .append("\"@type\":\"BreadcrumbList\",\"itemListElement\":[]}</script>")
+                .append("<script>window.dataLayer=window.dataLayer||[];</script>")
+                .append("</head><body><header><nav><ul>");
+        for (int i = 0; i < 120; i++) {
+            html.append("<li class=\"menu-item\"><a href=\"/c/").append(i).append("\"><span>Catégorie ")
+                    .append(i).append("</span></a></li>");
+        }
+        html.append("</ul></nav></header><main><section class=\"gallery\">");
+        for (int i = 1; i <= 8; i++) {
+            html.append("<picture><source srcset=\"https://cdn.shop.example/p/barista-pro/").append(i)
+                    .append(".webp 1x\" type=\"image/webp\"><img src=\"https://cdn.shop.example/p/barista-pro/")
+                    .append(i).append(".jpg\" alt=\"Vue ").append(i).append("\"></picture>");
+        }
+        html.append("</section><section class=\"buy-box\"><h1>Machine espresso Barista Pro</h1>")
+                .append("<div class=\"price\"><span class=\"amount\">599,99 €</span></div>")
+                .append("<button>Ajouter au panier</button></section>")
+                .append("<script type=\"application/ld+json\">{\"@context\":\"https://schema.org\",")
+                .append("\"@type\":\"Product\",\"name\":\"Machine espresso Barista Pro\",")
+                .append("\"image\":[\"https://cdn.shop.example/p/barista-pro/1.jpg\"],")
+                .append("\"offers\":{\"@type\":\"Offer\",\"price\":\"599.99\",\"priceCurrency\":\"EUR\"}}</script>")
+                .append("<section class=\"recommendations\"><ul>");
+        for (int i = 0; i < tiles; i++) {
+            html.append("<li class=\"tile\"><a href=\"/p/").append(i).append("\"><div class=\"tile-media\">")
+                    .append("<img src=\"https://cdn.shop.example/t/").append(i).append(".jpg\" loading=\"lazy\"")
+                    .append(" srcset=\"https://cdn.shop.example/t/").append(i).append("@2x.jpg 2x\"></div>")
+                    .append("<div class=\"tile-body\"><p class=\"tile-name\">Produit ").append(i)
+                    .append("</p><p class=\"tile-price\"><span>").append(10 + i).append(",99 €</span></p>")
+                    .append("<div class=\"rating\"><span></span><span></span><span></span></div></div></a></li>");
+        }
+        html.append("</ul></section></main><footer>");
+        for (int i = 0; i < 60; i++) {
+            html.append("<div class=\"footer-col\"><a href=\"/help/").append(i).append("\">Aide ").append(i)
+                    .append("</a></div>");
+        }
+        html.append("<script src=\"/static/app.js\"></script></footer></body></html>");
+        return html.toString();
+    }
+}
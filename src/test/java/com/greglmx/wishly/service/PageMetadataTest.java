@@ -0,0 +1,78 @@
+package com.greglmx.wishly.service;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.Iterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageMetadataTest {
+
+    private static final String HTML = """
+            <html><head>
+              <title> Red Mug </title>
+              <meta property="og:title" content="">
+              <meta property="OG:Title" content="Red Mug - Shop">
+              <meta property="og:title" content="ignored">
+              <meta name="description" content=" A red mug ">
+              <meta itemprop="price" value="12.50">
+              <link rel="canonical" href="https://shop.example/mug">
+              <script type="application/ld+json">{"@type":"Product","name":"Red Mug"}</script>
+            </head><body>
+              <img src="/a.jpg"><img alt="no src">
+              <picture><source srcset="/b.webp 1x"><img src="/b.jpg"></picture>
+              <video><source srcset="/ignored.webm"></video>
+              <script type="application/ld+json">  </script>
+              <script type="application/ld+json">{"@type": "Product",</script>
+            </body></html>
+            """;
+
+    @Test
+    void indexesTheDocumentInOnePass() {
+        assertIndexed(PageMetadata.of(Jsoup.parse(HTML, "https://shop.example/")));
+    }
+
+    @Test
+    void streamedElementsGiveTheSameIndex() throws Exception {
+        try (StreamParser streamer = new StreamParser(Parser.htmlParser())
+                .parse(new StringReader(HTML), "https://shop.example/")) {
+            PageMetadata metadata = new PageMetadata(streamer.document());
+            Iterator<Element> elements = streamer.iterator();
+            while (elements.hasNext()) {
+                metadata.add(elements.next());
+            }
+            assertIndexed(metadata);
+        }
+    }
+
+    @Test
+    void missingKeysAreNull() {
+        PageMetadata metadata = PageMetadata.of(Jsoup.parse("<p>plain</p>"));
+
+        assertThat(metadata.metaProperty("og:title")).isNull();
+        assertThat(metadata.linkHref("canonical")).isNull();
+        assertThat(metadata.title()).isNull();
+        assertThat(metadata.jsonLd()).isEmpty();
+    }
+
+    private static void assertIndexed(PageMetadata metadata) {
+        // first non-blank value wins, keys are case-insensitive
+        assertThat(metadata.metaProperty("og:title")).isEqualTo("Red Mug - Shop");
+        assertThat(metadata.metaName("Description")).isEqualTo("A red mug");
+        assertThat(metadata.metaItemprop("price")).isEqualTo("12.50");
+        assertThat(metadata.linkHref("canonical")).isEqualTo("https://shop.example/mug");
+        assertThat(metadata.title()).isEqualTo("Red Mug");
+        assertThat(metadata.jsonLd()).singleElement()
+                .satisfies(node -> assertThat(node.path("name").asText()).isEqualTo("Red Mug"));
+        assertThat(metadata.images()).extracting(el -> el.attr("src")).containsExactly("/a.jpg", "/b.jpg");
+        assertThat(metadata.pictureSources()).extracting(el -> el.attr("srcset")).containsExactly("/b.webp 1x");
+        Document document = metadata.document();
+        assertThat(document).isNotNull();
+    }
+}
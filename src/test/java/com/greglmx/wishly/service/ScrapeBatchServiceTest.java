@@ -0,0 +1,48 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.dto.ScrapeResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScrapeBatchServiceTest {
+
+    @Test
+    void interruptingTheCallerCancelsTheRunningScrapes() throws InterruptedException {
+        ScraperService scraperService = mock(ScraperService.class);
+        CountDownLatch started = new CountDownLatch(3);
+        AtomicInteger cancelled = new AtomicInteger();
+        when(scraperService.scrapeUrl(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(Duration.ofMinutes(1));
+            } catch (InterruptedException e) {
+                cancelled.incrementAndGet();
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while fetching");
+            }
+            return null;
+        });
+        ScrapeBatchService service = new ScrapeBatchService(scraperService, 16);
+        ConcurrentLinkedQueue<ScrapeResponse> results = new ConcurrentLinkedQueue<>();
+
+        Thread caller = Thread.ofVirtual().start(() ->
+                service.scrapeEach(List.of("https://a.example", "https://b.example", "https://c.example"), results::add));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        caller.interrupt();
+
+        assertThat(caller.join(Duration.ofSeconds(5))).isTrue();
+        assertThat(cancelled).hasValue(3);
+        assertThat(results).hasSize(3).noneMatch(ScrapeResponse::isSuccess);
+    }
+}
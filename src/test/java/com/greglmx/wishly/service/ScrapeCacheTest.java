@@ -0,0 +1,50 @@
+package com.greglmx.wishly.service;
+
+import com.greglmx.wishly.dto.GiftResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScrapeCacheTest {
+
+    private static final String CANONICAL = "https://shop.example/p/mug";
+
+    private final ScrapeCache cache = new ScrapeCache(new SimpleMeterRegistry(), 1,
+            Duration.ofMinutes(30), Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+    @Test
+    void everyCallerGetsItsOwnCopyWithTheUrlItAskedFor() {
+        AtomicInteger loads = new AtomicInteger();
+        Function<String, GiftResponse> loader = url -> {
+            loads.incrementAndGet();
+            GiftResponse response = new GiftResponse();
+            response.setName("Red Mug");
+            response.setPrice(12.5);
+            response.setCurrency("EUR");
+            response.setImages(new ArrayList<>(List.of("https://cdn.shop.example/mug.jpg")));
+            response.setUrl(url);
+            return response;
+        };
+
+        GiftResponse first = cache.get(CANONICAL, CANONICAL + "?utm_source=newsletter", loader);
+        first.setName("Renamed");
+        first.getImages().clear();
+        GiftResponse second = cache.get(CANONICAL, CANONICAL + "?fbclid=abc", loader);
+
+        assertThat(loads).hasValue(1);
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.getUrl()).isEqualTo(CANONICAL + "?utm_source=newsletter");
+        assertThat(second.getUrl()).isEqualTo(CANONICAL + "?fbclid=abc");
+        assertThat(second.getName()).isEqualTo("Red Mug");
+        assertThat(second.getPrice()).isEqualTo(12.5);
+        assertThat(second.getCurrency()).isEqualTo("EUR");
+        assertThat(second.getImages()).containsExactly("https://cdn.shop.example/mug.jpg");
+    }
+}
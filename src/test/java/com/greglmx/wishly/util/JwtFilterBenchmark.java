@@ -0,0 +1,78 @@
+package com.greglmx.wishly.util;
+
+import com.greglmx.wishly.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done by JwtRequestFilter for one authenticated request.
+ * Before: extractUsername, then validateToken, which parsed the token again for the
+ * subject and a third time for the expiry; each parse derived the key from the secret
+ * and built a new parser. After: one {@link JwtUtil#parseClaims} with the cached
+ * parser, every check reading the shared claims.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtFilterBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "bench_secret_bench_secret_bench_secret_bench_secret";
+
+    private JwtUtil jwtUtil;
+    private UserPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", 3_600_000L);
+        jwtUtil.init();
+        principal = new UserPrincipal(7L, "ann@example.com", "USER");
+        token = jwtUtil.generateToken(principal, 7L, "USER", 0);
+    }
+
+    @Benchmark
+    public boolean perCallParsers() {
+        String username = legacyClaims(token).getSubject();
+        boolean valid = legacyClaims(token).getSubject().equals(principal.getUsername())
+                && !legacyClaims(token).getExpiration().before(new Date());
+        return username != null && valid;
+    }
+
+    @Benchmark
+    public void sharedClaims(Blackhole bh) {
+        Claims claims = jwtUtil.parseClaims(token);
+        bh.consume(claims.getSubject());
+        bh.consume(jwtUtil.extractUserId(claims));
+        bh.consume(jwtUtil.extractTokenVersion(claims));
+        bh.consume(jwtUtil.extractRole(claims));
+        bh.consume(jwtUtil.validateToken(claims, principal));
+    }
+
+    // JwtUtil.extractAllClaims before the key and parser were cached
+    private static Claims legacyClaims(String token) {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
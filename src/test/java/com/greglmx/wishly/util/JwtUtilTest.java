@@ -0,0 +1,78 @@
+package com.greglmx.wishly.util;
+
+import com.greglmx.wishly.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test_secret_test_secret_test_secret_test_secret";
+
+    private JwtUtil jwtUtil;
+    private UserPrincipal principal;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = newJwtUtil(60_000);
+        principal = new UserPrincipal(7L, "ann@example.com", "ADMIN");
+    }
+
+    @Test
+    void parsesClaimsOnceForAllChecks() {
+        String token = jwtUtil.generateToken(principal, 7L, "ADMIN", 3);
+
+        Claims claims = jwtUtil.parseClaims(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.getSubject()).isEqualTo("ann@example.com");
+        assertThat(jwtUtil.extractUserId(claims)).isEqualTo(7L);
+        assertThat(jwtUtil.extractRole(claims)).isEqualTo("ADMIN");
+        assertThat(jwtUtil.extractTokenVersion(claims)).isEqualTo(3);
+        assertThat(jwtUtil.validateToken(claims, principal)).isTrue();
+        assertThat(jwtUtil.validateToken(claims, new UserPrincipal(8L, "bob@example.com", "USER"))).isFalse();
+    }
+
+    @Test
+    void tokensWithoutNewClaimsGetDefaults() {
+        Claims claims = jwtUtil.parseClaims(jwtUtil.createToken(new HashMap<>(), "ann@example.com"));
+
+        assertThat(jwtUtil.extractUserId(claims)).isNull();
+        assertThat(jwtUtil.extractRole(claims)).isEqualTo("USER");
+        assertThat(jwtUtil.extractTokenVersion(claims)).isZero();
+    }
+
+    @Test
+    void invalidTokensParseToNull() {
+        String token = jwtUtil.generateToken(principal, 7L, "ADMIN");
+
+        assertThat(jwtUtil.parseClaims("not-a-token")).isNull();
+        assertThat(jwtUtil.parseClaims(token.substring(0, token.length() - 2))).isNull();
+        assertThat(jwtUtil.validateToken("not-a-token", principal)).isFalse();
+        JwtUtil expiring = newJwtUtil(-1_000);
+        assertThat(expiring.parseClaims(expiring.generateToken(principal, 7L, "ADMIN"))).isNull();
+    }
+
+    @Test
+    void rotatingTheKeyInvalidatesPreviousTokens() {
+        String before = jwtUtil.generateToken(principal, 7L, "ADMIN");
+
+        jwtUtil.rotateKey("another_secret_another_secret_another_secret_xx");
+
+        assertThat(jwtUtil.parseClaims(before)).isNull();
+        assertThat(jwtUtil.parseClaims(jwtUtil.generateToken(principal, 7L, "ADMIN"))).isNotNull();
+    }
+
+    private static JwtUtil newJwtUtil(long expirationMs) {
+        JwtUtil util = new JwtUtil();
+        ReflectionTestUtils.setField(util, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(util, "jwtExpirationMs", expirationMs);
+        util.init();
+        return util;
+    }
+}
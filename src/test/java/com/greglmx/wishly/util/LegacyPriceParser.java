@@ -0,0 +1,80 @@
+package com.greglmx.wishly.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The regex price parsing that {@link PriceParser} replaced in ScraperService, kept
+ * as the reference for the correctness test and the benchmark.
+ */
+final class LegacyPriceParser {
+
+    private LegacyPriceParser() {
+    }
+
+    // ScraperService.parsePriceNumber before PriceParser
+    static Double parsePriceNumber(String priceStr) {
+        if (priceStr == null) {
+            return null;
+        }
+        String cleaned = priceStr
+                .replaceAll("[A-Za-z]{3}", " ")
+                .replaceAll("[\\u00A3\\u20AC$¥₹]", " ")
+                .replaceAll("[^0-9.,]", "")
+                .trim();
+        if (cleaned.isEmpty()) {
+            return null;
+        }
+        int lastComma = cleaned.lastIndexOf(',');
+        int lastDot = cleaned.lastIndexOf('.');
+        char decimalSep;
+        if (lastComma == -1 && lastDot == -1) {
+            decimalSep = '.';
+        } else if (lastComma == -1) {
+            decimalSep = '.';
+        } else if (lastDot == -1) {
+            decimalSep = ',';
+        } else {
+            decimalSep = lastComma > lastDot ? ',' : '.';
+        }
+        if (decimalSep == ',') {
+            cleaned = cleaned.replace(".", "");
+            cleaned = cleaned.replace(',', '.');
+        } else {
+            cleaned = cleaned.replace(",", "");
+        }
+        try {
+            return Double.parseDouble(cleaned);
+        } catch (NumberFormatException e) {
+            Matcher matcher = Pattern.compile("(\\d+(?:\\.\\d{1,2})?)").matcher(cleaned);
+            if (matcher.find()) {
+                try {
+                    return Double.parseDouble(matcher.group(1));
+                } catch (NumberFormatException ignored) {
+                    return null;
+                }
+            }
+            return null;
+        }
+    }
+
+    // text part of ScraperService.extractPrice before PriceParser
+    static Double extractPrice(String text) {
+        Pattern[] patterns = {
+                Pattern.compile("[€$£¥₹]\\s*([0-9]+[.,][0-9]{1,2})"),
+                Pattern.compile("([0-9]+[.,][0-9]{1,2})\\s*[€$£¥₹]"),
+                Pattern.compile("\\b(\\d+[.,]\\d{2})\\b"),
+        };
+        for (Pattern pattern : patterns) {
+            Matcher matcher = pattern.matcher(text);
+            if (matcher.find()) {
+                try {
+                    return Double.parseDouble(matcher.group(1).replace(",", "."));
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package com.greglmx.wishly.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PriceParser} against the regex parsing it replaced ({@link LegacyPriceParser}):
+ * the field corpus of {@link PriceParserTest} for meta / JSON-LD values, and the text
+ * of a product page whose price comes after the navigation, as extractPrice sees it.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="PriceParserBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PriceParserBenchmark {
+
+    private String[] fields;
+    private String pageText;
+
+    @Setup
+    public void setUp() {
+        fields = PriceParserTest.FIELD_CORPUS.toArray(String[]::new);
+        StringBuilder text = new StringBuilder("Machine espresso Barista Pro - Shop ");
+        for (int i = 0; i < 120; i++) {
+            text.append("Catégorie ").append(i).append(' ');
+        }
+        text.append("Livraison offerte dès 25 € Note 4.5 sur 5 (1 204 avis) Prix 599,99 € TTC ");
+        for (int i = 0; i < 60; i++) {
+            text.append("Produit ").append(i).append(' ').append(10 + i).append(",99 € ");
+        }
+        pageText = text.toString();
+    }
+
+    @Benchmark
+    public void legacyFields(Blackhole bh) {
+        for (String field : fields) {
+            bh.consume(LegacyPriceParser.parsePriceNumber(field));
+        }
+    }
+
+    @Benchmark
+    public void parserFields(Blackhole bh) {
+        for (String field : fields) {
+            bh.consume(PriceParser.parse(field));
+        }
+    }
+
+    @Benchmark
+    public Double legacyPageText() {
+        return LegacyPriceParser.extractPrice(pageText);
+    }
+
+    @Benchmark
+    public PriceParser.Price parserPageText() {
+        return PriceParser.find(pageText);
+    }
+}
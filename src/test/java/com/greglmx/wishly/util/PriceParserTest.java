@@ -0,0 +1,133 @@
+package com.greglmx.wishly.util;
+
+import com.greglmx.wishly.util.PriceParser.Price;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Compares {@link PriceParser} with the regex parsing it replaced in ScraperService
+ * (parsePriceNumber for meta / JSON-LD fields, extractPrice for page text), kept in
+ * {@link LegacyPriceParser} as the reference. Inputs where the old code was wrong are
+ * listed apart with the expected value.
+ */
+class PriceParserTest {
+
+    // machine-readable fields: meta product:price:amount, JSON-LD offer price...
+    static final List<String> FIELD_CORPUS = List.of(
+            "12.5", "12.50", "19.990", "12.500", "0.99", "7", "100", "1299", "1299.99",
+            "1,299.99", "1.299,99", "1 299,99", "1 299,99 €", "1\u00A0299,99 €", "1,5", "1,299",
+            "EUR 1.299,00", "$1,299.99", "€ 49,90", "249.00 EUR", "USD12.50", "  7.49 ", "£10",
+            "", "   ", "N/A", "abc", "EUR");
+
+    // page text: the first price shown next to a currency, else a bare amount with two decimals
+    static final List<String> TEXT_CORPUS = List.of(
+            "Prix : 49,99 €",
+            "Only $19.99 today",
+            "£10.50 with free delivery",
+            "€ 99.99",
+            "99,99€ TTC",
+            "Total 15.00",
+            "Livraison offerte dès 25 € - Prix 39,90 €",
+            "Was 59,99 € now 49,99 €",
+            "Model 2024 - 199,99 €",
+            "₹ 499.00",
+            "Rated 4.5 out of 5 - 12.99 $",
+            "In stock: 3 items",
+            "No price here");
+
+    // the old code got these wrong
+    private static final Map<String, Double> FIELD_FIXES = Map.of(
+            "1.299.000", 1299000.0);   // old: 1.29 (its fallback regex)
+
+    private static final Map<String, Double> TEXT_FIXES = Map.of(
+            "Prix 1 299,99 €", 1299.99,  // old: 299.99, the regex started after the space
+            "€1,299.99", 1299.99,        // old: 1.29
+            "Now $2,499.00 only", 2499.0); // old: 2.49
+
+    @Test
+    void fieldsParseLikeTheOldParser() {
+        for (String value : FIELD_CORPUS) {
+            assertThat(amount(PriceParser.parse(value)))
+                    .as("parse(\"%s\")", value)
+                    .isEqualTo(LegacyPriceParser.parsePriceNumber(value));
+        }
+    }
+
+    @Test
+    void textFindsTheSamePriceAsTheOldRegexes() {
+        for (String text : TEXT_CORPUS) {
+            assertThat(amount(PriceParser.find(text)))
+                    .as("find(\"%s\")", text)
+                    .isEqualTo(LegacyPriceParser.extractPrice(text));
+        }
+    }
+
+    @Test
+    void fixesWhereTheOldParsingWasWrong() {
+        FIELD_FIXES.forEach((value, expected) -> {
+            assertThat(LegacyPriceParser.parsePriceNumber(value)).isNotEqualTo(expected);
+            assertThat(amount(PriceParser.parse(value))).as("parse(\"%s\")", value).isEqualTo(expected);
+        });
+        TEXT_FIXES.forEach((text, expected) -> {
+            assertThat(LegacyPriceParser.extractPrice(text)).isNotEqualTo(expected);
+            assertThat(amount(PriceParser.find(text))).as("find(\"%s\")", text).isEqualTo(expected);
+        });
+    }
+
+    @Test
+    void fieldsKeepThreeDecimalsAsDecimals() {
+        assertThat(PriceParser.parse("19.990").amount()).isEqualTo(19.99);
+        assertThat(PriceParser.parse("12.500").amount()).isEqualTo(12.5);
+        assertThat(PriceParser.parse("1,299").amount()).isCloseTo(1.299, within(1e-9));
+    }
+
+    @Test
+    void textReadsALoneSeparatorBeforeThreeDigitsAsThousands() {
+        assertThat(PriceParser.find("Prix : 1,299 € TTC")).isEqualTo(new Price(1299.0, "EUR"));
+        assertThat(PriceParser.find("Seulement 12.500 € !")).isEqualTo(new Price(12500.0, "EUR"));
+        assertThat(PriceParser.find("Only $1,299 today")).isEqualTo(new Price(1299.0, "USD"));
+        assertThat(PriceParser.find("Prix 1 299 €")).isEqualTo(new Price(1299.0, "EUR"));
+        assertThat(PriceParser.find("Dès 0.500 € le gramme")).isNull();
+        assertThat(PriceParser.find("Save €5 today")).isNull();
+        assertThat(PriceParser.find("Réf. 1,299")).isNull();
+    }
+
+    @Test
+    void plainSpacesGroupThousandsOnlyBeforeThreeDigits() {
+        assertThat(PriceParser.parse("1 299,99 €")).isEqualTo(new Price(1299.99, "EUR"));
+        assertThat(PriceParser.parse("12 345 678,90")).isEqualTo(new Price(12345678.90, null));
+        assertThat(PriceParser.find("Prix 1 299,99 €")).isEqualTo(new Price(1299.99, "EUR"));
+        assertThat(PriceParser.find("2024 199,99 €")).isEqualTo(new Price(199.99, "EUR"));
+        assertThat(PriceParser.find("Lot de 3 29,99 €")).isEqualTo(new Price(29.99, "EUR"));
+    }
+
+    @Test
+    void detectsTheCurrency() {
+        assertThat(PriceParser.parse("EUR 1.299,00")).isEqualTo(new Price(1299.0, "EUR"));
+        assertThat(PriceParser.parse("$1,299.99")).isEqualTo(new Price(1299.99, "USD"));
+        assertThat(PriceParser.parse("249.00 CHF")).isEqualTo(new Price(249.0, "CHF"));
+        assertThat(PriceParser.parse("12.5")).isEqualTo(new Price(12.5, null));
+        assertThat(PriceParser.parse("12.5").withCurrency(" gbp")).isEqualTo(new Price(12.5, "GBP"));
+        assertThat(PriceParser.find("Only 19,99 € today")).isEqualTo(new Price(19.99, "EUR"));
+    }
+
+    @Test
+    void currencyCodesMustBeUpperCase() {
+        assertThat(PriceParser.parse("12.50 all inclusive")).isEqualTo(new Price(12.5, null));
+        assertThat(PriceParser.parse("top 5.00")).isEqualTo(new Price(5.0, null));
+        assertThat(PriceParser.parse("try 19.99")).isEqualTo(new Price(19.99, null));
+        assertThat(PriceParser.parse("249.00 chf")).isEqualTo(new Price(249.0, null));
+        assertThat(PriceParser.parse("19.99 TRY")).isEqualTo(new Price(19.99, "TRY"));
+        assertThat(PriceParser.parse("ALL 1200")).isEqualTo(new Price(1200.0, "ALL"));
+        assertThat(PriceParser.find("Only 19,99 eur")).isEqualTo(new Price(19.99, null));
+    }
+
+    private static Double amount(Price price) {
+        return price != null ? price.amount() : null;
+    }
+}